@@ -0,0 +1,78 @@
+package com.bank.app.benchmark;
+
+import com.bank.app.payload.CustomerDTO;
+import com.bank.app.service.CustomerService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * getCustomerById latency on a Zipfian id distribution, with and without the read cache.
+ * SampleTime mode reports p99 alongside the mean.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class CustomerCacheBenchmark {
+
+    @Param({"caffeine", "none"})
+    private String cacheType;
+
+    @Param({"100000"})
+    private int customers;
+
+    @Param({"1.1"})
+    private double skew;
+
+    private SeededApplication application;
+    private CustomerService customerService;
+    private long[] ids;
+    private double[] cumulative;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        application = SeededApplication.start(customers, "--app.cache.type=" + cacheType);
+        customerService = application.customerService;
+        ids = application.ids;
+
+        cumulative = new double[customers];
+        double sum = 0;
+        for (int rank = 1; rank <= customers; rank++) {
+            sum += 1 / Math.pow(rank, skew);
+            cumulative[rank - 1] = sum;
+        }
+        for (int i = 0; i < customers; i++) {
+            cumulative[i] /= sum;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        application.close();
+    }
+
+    @Benchmark
+    public CustomerDTO getCustomerById() {
+        int index = Arrays.binarySearch(cumulative, ThreadLocalRandom.current().nextDouble());
+        return customerService.getCustomerById(ids[Math.min(index < 0 ? -index - 1 : index, customers - 1)]);
+    }
+}
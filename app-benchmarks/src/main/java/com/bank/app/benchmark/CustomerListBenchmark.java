@@ -0,0 +1,80 @@
+package com.bank.app.benchmark;
+
+import com.bank.app.payload.CustomerResponse;
+import com.bank.app.service.CustomerService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listing customers at the first, middle and last page of a seeded store, by offset and by cursor.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CustomerListBenchmark {
+
+    @Param({"10000"})
+    private int customers;
+
+    @Param({"20", "100", "500"})
+    private int pageSize;
+
+    @Param({"first", "middle", "last"})
+    private String position;
+
+    @Param({"jpa", "mapped"})
+    private String storage;
+
+    private SeededApplication application;
+    private CustomerService customerService;
+    private int pageNumber;
+    private String cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        application = SeededApplication.start(customers, "--app.storage.type=" + storage);
+        customerService = application.customerService;
+
+        int lastPage = (customers - 1) / pageSize;
+        pageNumber = switch (position) {
+            case "middle" -> lastPage / 2;
+            case "last" -> lastPage;
+            default -> 0;
+        };
+        cursor = null;
+        for (int page = 0; page < pageNumber; page++) {
+            cursor = customerService.getCustomersAfter(cursor, pageSize, false).getNextCursor();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        application.close();
+    }
+
+    @Benchmark
+    public CustomerResponse getAllCustomers() {
+        return customerService.getAllCustomers(pageNumber, pageSize, null);
+    }
+
+    @Benchmark
+    public CustomerResponse getCustomersAfter() {
+        return customerService.getCustomersAfter(cursor, pageSize, false);
+    }
+}
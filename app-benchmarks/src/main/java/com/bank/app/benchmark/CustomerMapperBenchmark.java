@@ -0,0 +1,61 @@
+package com.bank.app.benchmark;
+
+import com.bank.app.Customer;
+import com.bank.app.mapper.CustomerMapper;
+import com.bank.app.mapper.DirectCustomerMapper;
+import com.bank.app.mapper.ModelMapperCustomerMapper;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the direct mapper with the ModelMapper fallback on a list page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CustomerMapperBenchmark {
+
+    @Param({"10", "500"})
+    private int pageSize;
+
+    private List<Customer> customers;
+    private CustomerMapper directMapper;
+    private CustomerMapper modelMapperMapper;
+
+    @Setup
+    public void setUp() {
+        customers = new ArrayList<>(pageSize);
+        for (long i = 1; i <= pageSize; i++) {
+            customers.add(new Customer(i, "First" + i, "Last" + i, "customer" + i + "@example.com", "555-" + i));
+        }
+        directMapper = new DirectCustomerMapper();
+        modelMapperMapper = new ModelMapperCustomerMapper(new ModelMapper());
+    }
+
+    @Benchmark
+    public Object direct() {
+        return directMapper.toDtoList(customers);
+    }
+
+    @Benchmark
+    public Object modelMapper() {
+        return modelMapperMapper.toDtoList(customers);
+    }
+}
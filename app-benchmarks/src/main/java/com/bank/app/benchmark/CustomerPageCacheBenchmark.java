@@ -0,0 +1,82 @@
+package com.bank.app.benchmark;
+
+import com.bank.app.cache.CustomerPageCache;
+import com.bank.app.payload.CountStrategy;
+import com.bank.app.payload.CustomerDTO;
+import com.bank.app.payload.CustomerResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Response body cost for a hot list page: serializing it per request, serializing and gzipping it per request
+ * (what server.compression does), and serving the cached bytes. Setup prints the bytes each one puts on the wire.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CustomerPageCacheBenchmark {
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private JsonMapper jsonMapper;
+    private CustomerResponse customerResponse;
+    private CustomerPageCache pageCache;
+    private CustomerPageCache.Key key;
+
+    @Setup
+    public void setUp() throws IOException {
+        jsonMapper = JsonMapper.builder().build();
+        List<CustomerDTO> content = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            content.add(new CustomerDTO((long) i, "John", "Doe", SeededApplication.email(i), "555-0101"));
+        }
+        customerResponse = new CustomerResponse(content, 0, pageSize, 10_000L, null, CountStrategy.EXACT, true);
+        pageCache = new CustomerPageCache(jsonMapper, 1 << 20, Duration.ofHours(1), 5, 1024, new SimpleMeterRegistry());
+        key = new CustomerPageCache.Key(0, pageSize, CountStrategy.EXACT);
+
+        CustomerPageCache.Page page = cachedGzip();
+        System.out.printf("%nbytes on the wire: json %d, gzip %d%n", page.json().length, page.gzip().length);
+    }
+
+    @Benchmark
+    public byte[] serializePerRequest() {
+        return jsonMapper.writeValueAsBytes(customerResponse);
+    }
+
+    @Benchmark
+    public byte[] serializeAndGzipPerRequest() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(jsonMapper.writeValueAsBytes(customerResponse));
+        }
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public CustomerPageCache.Page cachedGzip() {
+        return pageCache.get(key, () -> customerResponse);
+    }
+}
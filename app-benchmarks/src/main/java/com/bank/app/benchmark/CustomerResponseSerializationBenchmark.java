@@ -0,0 +1,54 @@
+package com.bank.app.benchmark;
+
+import com.bank.app.payload.CountStrategy;
+import com.bank.app.payload.CustomerDTO;
+import com.bank.app.payload.CustomerResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of a list page, the last step of GET /api/public/customers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CustomerResponseSerializationBenchmark {
+
+    @Param({"20", "100", "500"})
+    private int pageSize;
+
+    private JsonMapper jsonMapper;
+    private CustomerResponse customerResponse;
+
+    @Setup
+    public void setUp() {
+        jsonMapper = JsonMapper.builder().build();
+        List<CustomerDTO> content = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            content.add(new CustomerDTO((long) i, "John", "Doe", SeededApplication.email(i), "555-0101"));
+        }
+        customerResponse = new CustomerResponse(content, 0, pageSize, 10_000L, null, CountStrategy.EXACT, true);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return jsonMapper.writeValueAsBytes(customerResponse);
+    }
+}
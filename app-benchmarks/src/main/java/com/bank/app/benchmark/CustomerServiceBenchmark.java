@@ -0,0 +1,95 @@
+package com.bank.app.benchmark;
+
+import com.bank.app.payload.CustomerDTO;
+import com.bank.app.service.CustomerService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Single-customer operations against a seeded store: JPA over H2, or the memory-mapped log.
+ * The read cache is off by default so reads reach the store.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CustomerServiceBenchmark {
+
+    @Param({"10000"})
+    private int customers;
+
+    @Param({"none"})
+    private String cacheType;
+
+    @Param({"jpa", "mapped"})
+    private String storage;
+
+    private final AtomicLong created = new AtomicLong();
+
+    private SeededApplication application;
+    private CustomerService customerService;
+    private long[] ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        application = SeededApplication.start(customers, "--app.cache.type=" + cacheType, "--app.storage.type=" + storage);
+        customerService = application.customerService;
+        ids = application.ids;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        application.close();
+    }
+
+    @Benchmark
+    public CustomerDTO getCustomerById() {
+        return customerService.getCustomerById(randomId());
+    }
+
+    // A 404: ids past the seeded range never exist, so this measures the error path on its own.
+    @Benchmark
+    public Object getMissingCustomer() {
+        try {
+            return customerService.getCustomerById(Long.MAX_VALUE - ThreadLocalRandom.current().nextInt(ids.length));
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public CustomerDTO updateCustomer() {
+        int index = ThreadLocalRandom.current().nextInt(ids.length);
+        CustomerDTO customerDTO = new CustomerDTO(null, "Updated", "Customer", SeededApplication.email(index),
+                "555-" + ThreadLocalRandom.current().nextInt(10_000));
+        return customerService.updateCustomer(customerDTO, ids[index], null);
+    }
+
+    @Benchmark
+    public CustomerDTO createCustomer() {
+        long n = created.incrementAndGet();
+        return customerService.createCustomer(new CustomerDTO(null, "New", "Customer",
+                "new.customer" + n + "@example.com", "555-0000"));
+    }
+
+    private long randomId() {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+}
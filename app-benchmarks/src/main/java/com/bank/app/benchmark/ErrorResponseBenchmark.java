@@ -0,0 +1,58 @@
+package com.bank.app.benchmark;
+
+import com.bank.app.exceptions.CustomerStatusException;
+import com.bank.app.exceptions.ProblemBodies;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.server.ResponseStatusException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a 404 from throw to response body: a plain ResponseStatusException serialized by Jackson
+ * against the stackless exception and the cached problem body. Run with -prof gc for allocation per op.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ErrorResponseBenchmark {
+
+    private JsonMapper jsonMapper;
+
+    @Setup
+    public void setUp() {
+        jsonMapper = JsonMapper.builder().build();
+    }
+
+    @Benchmark
+    public byte[] stackTraceAndJackson() {
+        try {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Customer not found");
+        } catch (ResponseStatusException e) {
+            return jsonMapper.writeValueAsBytes(ProblemDetail.forStatusAndDetail(e.getStatusCode(), e.getReason()));
+        }
+    }
+
+    @Benchmark
+    public byte[] stacklessAndCachedBody() {
+        try {
+            throw new CustomerStatusException(HttpStatus.NOT_FOUND, "Customer not found");
+        } catch (ResponseStatusException e) {
+            return ProblemBodies.of(e.getStatusCode(), e.getReason());
+        }
+    }
+}
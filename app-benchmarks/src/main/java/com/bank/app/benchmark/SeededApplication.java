@@ -0,0 +1,77 @@
+package com.bank.app.benchmark;
+
+import com.bank.app.AppMainApplication;
+import com.bank.app.payload.CustomerImportResult;
+import com.bank.app.service.CustomerService;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Boots the app without a web server on its own in-memory H2 database and mapped store and audit files,
+ * and seeds it with customers shaped like app-crud/src/test/resources/test-data.sql.
+ */
+final class SeededApplication implements AutoCloseable {
+
+    private static final String[][] NAMES = {
+            {"John", "Doe"}, {"Jane", "Smith"}, {"Robert", "Johnson"}, {"Emily", "Williams"}, {"Michael", "Brown"},
+            {"Sarah", "Davis"}, {"David", "Miller"}, {"Jessica", "Wilson"}, {"James", "Moore"}, {"Linda", "Taylor"}
+    };
+
+    final ConfigurableApplicationContext context;
+    final CustomerService customerService;
+    final long[] ids;
+
+    private SeededApplication(ConfigurableApplicationContext context, long[] ids) {
+        this.context = context;
+        this.customerService = context.getBean(CustomerService.class);
+        this.ids = ids;
+    }
+
+    static SeededApplication start(int customers, String... args) {
+        String store = "target/bench-store/" + UUID.randomUUID();
+        List<String> arguments = new ArrayList<>(List.of(
+                "--spring.main.web-application-type=none",
+                "--spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID(),
+                "--app.storage.path=" + store + "/customers.log",
+                "--app.audit.path=" + store + "/customer-audit.ndjson",
+                "--logging.level.root=WARN"));
+        arguments.addAll(List.of(args));
+        ConfigurableApplicationContext context = new SpringApplication(AppMainApplication.class)
+                .run(arguments.toArray(String[]::new));
+
+        // The bulk import does not touch the read cache, so benchmarks start cold.
+        long[] ids = context.getBean(CustomerService.class)
+                .importCustomers(new ByteArrayInputStream(ndjson(customers).getBytes(StandardCharsets.UTF_8)))
+                .getResults().stream().mapToLong(CustomerImportResult::getId).toArray();
+        return new SeededApplication(context, ids);
+    }
+
+    static String email(int i) {
+        String[] name = NAMES[i % NAMES.length];
+        return name[0].toLowerCase() + "." + name[1].toLowerCase() + i + "@example.com";
+    }
+
+    private static String ndjson(int customers) {
+        StringBuilder body = new StringBuilder(customers * 120);
+        for (int i = 0; i < customers; i++) {
+            String[] name = NAMES[i % NAMES.length];
+            body.append("{\"firstName\":\"").append(name[0])
+                    .append("\",\"lastName\":\"").append(name[1])
+                    .append("\",\"email\":\"").append(email(i))
+                    .append("\",\"phoneNumber\":\"555-").append(String.format("%04d", i % 10_000))
+                    .append("\"}\n");
+        }
+        return body.toString();
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
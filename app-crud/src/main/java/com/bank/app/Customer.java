@@ -1,27 +1,44 @@
 package com.bank.app;
 
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.util.Locale;
 
 @Entity(name="customers")
+@Cacheable
+@Table(name = "customers", uniqueConstraints = @UniqueConstraint(name = "uk_customers_email", columnNames = "email"))
 public class Customer {
 
     @Id
-    @GeneratedValue(strategy= GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "customers_seq")
+    @SequenceGenerator(name = "customers_seq", sequenceName = "customers_seq", allocationSize = 50)
     Long id;
     String firstName;
     String lastName;
     String email;
     String phoneNumber;
 
+    // Rows inserted outside JPA start at version 0 rather than null.
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    Long version;
 
     public Customer(Long id, String firstName, String lastName, String email, String phoneNumber) {
         this.id = id;
         this.firstName = firstName;
         this.lastName = lastName;
-        this.email = email;
+        this.email = normalizeEmail(email);
         this.phoneNumber = phoneNumber;
     }
 
@@ -49,6 +66,10 @@ public class Customer {
         return firstName;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     public void setId(Long id) {
         this.id = id;
     }
@@ -58,7 +79,7 @@ public class Customer {
     }
 
     public void setEmail(String email) {
-        this.email = email;
+        this.email = normalizeEmail(email);
     }
 
     public void setLastName(String lastName) {
@@ -69,7 +90,29 @@ public class Customer {
         this.firstName = firstName;
     }
 
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public void setCustomerId(Long id) {
         this.id = id;
     }
+
+    /**
+     * Email is the customer's identity key, so it is stored trimmed and lower-cased
+     * to keep the unique index from treating case variants as different customers.
+     */
+    public static String normalizeEmail(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Phone numbers keep only digits and '+', e.g. "(555) 010-1" becomes "5550101".
+     * The same regular expression runs as regexp_replace in bulk updates.
+     */
+    public static final String PHONE_NUMBER_NOISE = "[^0-9+]";
+
+    public static String normalizePhoneNumber(String phoneNumber) {
+        return phoneNumber == null ? null : phoneNumber.replaceAll(PHONE_NUMBER_NOISE, "");
+    }
 }
@@ -0,0 +1,80 @@
+package com.bank.app;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+
+/**
+ * Append-only record of a change to a customer. Rows are only ever inserted.
+ */
+@Entity(name = "customer_audit")
+@Table(name = "customer_audit", indexes = @Index(name = "ix_customer_audit_customer", columnList = "customerId"))
+public class CustomerAudit {
+
+    public enum Action {
+        CREATE, UPDATE, DELETE
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "customer_audit_seq")
+    @SequenceGenerator(name = "customer_audit_seq", sequenceName = "customer_audit_seq", allocationSize = 50)
+    Long id;
+
+    @Column(nullable = false)
+    Long customerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    Action action;
+
+    Long customerVersion;
+    String email;
+
+    @Column(nullable = false)
+    Instant occurredAt;
+
+    public CustomerAudit(Long customerId, Action action, Long customerVersion, String email, Instant occurredAt) {
+        this.customerId = customerId;
+        this.action = action;
+        this.customerVersion = customerVersion;
+        this.email = email;
+        this.occurredAt = occurredAt;
+    }
+
+    public CustomerAudit() {
+
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public Action getAction() {
+        return action;
+    }
+
+    public Long getCustomerVersion() {
+        return customerVersion;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public Instant getOccurredAt() {
+        return occurredAt;
+    }
+}
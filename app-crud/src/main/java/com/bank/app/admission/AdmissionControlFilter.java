@@ -0,0 +1,166 @@
+package com.bank.app.admission;
+
+import com.bank.app.exceptions.ProblemBodies;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control in front of the customer API. A request first takes a permit from the global concurrency limit,
+ * then a token from its client's bucket, with separate budgets for /api/admin and /api/public. Clients are told
+ * apart by remote address, or by a configured header set by a trusted gateway.
+ * Either one running dry answers 429 straight away rather than letting the request queue behind the others.
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    public enum Route {
+        PUBLIC, ADMIN
+    }
+
+    public enum Reason {
+        RATE, CONCURRENCY
+    }
+
+    private static final String ADMIN_PREFIX = "/api/admin/";
+
+    private final ClientRateLimiter publicLimiter;
+    private final ClientRateLimiter adminLimiter;
+    private final Semaphore concurrency;
+    private final int maxConcurrentRequests;
+    private final String clientHeader;
+    private final Counter[] admitted = new Counter[Route.values().length];
+    private final Counter[][] rejected = new Counter[Route.values().length][Reason.values().length];
+
+    public AdmissionControlFilter(ClientRateLimiter publicLimiter, ClientRateLimiter adminLimiter,
+                                  int maxConcurrentRequests, String clientHeader, MeterRegistry meterRegistry) {
+        this.publicLimiter = publicLimiter;
+        this.adminLimiter = adminLimiter;
+        this.concurrency = new Semaphore(maxConcurrentRequests);
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        this.clientHeader = clientHeader;
+
+        for (Route route : Route.values()) {
+            String routeTag = route.name().toLowerCase(Locale.ROOT);
+            admitted[route.ordinal()] = Counter.builder("customer.admission.admitted")
+                    .tag("route", routeTag)
+                    .register(meterRegistry);
+            for (Reason reason : Reason.values()) {
+                rejected[route.ordinal()][reason.ordinal()] = Counter.builder("customer.admission.rejected")
+                        .description("Requests answered 429 by admission control")
+                        .tag("route", routeTag)
+                        .tag("reason", reason.name().toLowerCase(Locale.ROOT))
+                        .register(meterRegistry);
+            }
+            ClientRateLimiter limiter = limiter(route);
+            Gauge.builder("customer.admission.buckets.active", limiter, ClientRateLimiter::activeBuckets)
+                    .description("Client buckets still refilling after recent requests")
+                    .tag("route", routeTag)
+                    .register(meterRegistry);
+            Gauge.builder("customer.admission.buckets.exhausted", limiter, ClientRateLimiter::exhaustedBuckets)
+                    .description("Client buckets that would reject their next request")
+                    .tag("route", routeTag)
+                    .register(meterRegistry);
+            Gauge.builder("customer.admission.buckets", limiter, ClientRateLimiter::stripes)
+                    .tag("route", routeTag)
+                    .register(meterRegistry);
+        }
+        Gauge.builder("customer.admission.in.flight", this, AdmissionControlFilter::inFlight)
+                .description("Requests currently holding a concurrency permit")
+                .register(meterRegistry);
+        Gauge.builder("customer.admission.concurrency.limit", () -> maxConcurrentRequests)
+                .register(meterRegistry);
+    }
+
+    public int inFlight() {
+        return maxConcurrentRequests - concurrency.availablePermits();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Route route = request.getRequestURI().startsWith(request.getContextPath() + ADMIN_PREFIX) ? Route.ADMIN : Route.PUBLIC;
+
+        // Capacity is checked first, so a request turned away because the server is busy keeps its client's token.
+        if (!concurrency.tryAcquire()) {
+            reject(response, route, Reason.CONCURRENCY, TimeUnit.SECONDS.toNanos(1));
+            return;
+        }
+        long waitNanos = limiter(route).tryAcquire(clientId(request));
+        if (waitNanos > 0) {
+            concurrency.release();
+            reject(response, route, Reason.RATE, waitNanos);
+            return;
+        }
+        admitted[route.ordinal()].increment();
+
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, response);
+            async = request.isAsyncStarted();
+            if (async) {
+                // Streamed exports finish after this returns; the permit is held until the response completes.
+                request.getAsyncContext().addListener(new ReleasingListener());
+            }
+        } finally {
+            if (!async) {
+                concurrency.release();
+            }
+        }
+    }
+
+    private ClientRateLimiter limiter(Route route) {
+        return route == Route.ADMIN ? adminLimiter : publicLimiter;
+    }
+
+    // The header is only trusted when configured, i.e. behind a gateway that sets it after authenticating the caller;
+    // otherwise a client could pick a fresh value per request and never run out of tokens.
+    private String clientId(HttpServletRequest request) {
+        String clientId = clientHeader.isEmpty() ? null : request.getHeader(clientHeader);
+        return clientId == null || clientId.isBlank() ? request.getRemoteAddr() : clientId;
+    }
+
+    private void reject(HttpServletResponse response, Route route, Reason reason, long waitNanos) throws IOException {
+        rejected[route.ordinal()][reason.ordinal()].increment();
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        response.getOutputStream().write(ProblemBodies.of(HttpStatus.TOO_MANY_REQUESTS,
+                reason == Reason.RATE ? "Rate limit exceeded" : "Server is at capacity"));
+    }
+
+    private class ReleasingListener implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            concurrency.release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
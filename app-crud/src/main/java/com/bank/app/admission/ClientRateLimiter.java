@@ -0,0 +1,95 @@
+package com.bank.app.admission;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-client token buckets kept as a generic cell rate algorithm: a bucket is one theoretical arrival time
+ * in an AtomicLongArray, and admitting a request is a single compare-and-set on it.
+ * Clients are hashed onto a fixed number of stripes, so memory stays bounded however many client ids
+ * show up; clients that land on the same stripe share its budget.
+ */
+public class ClientRateLimiter {
+
+    private static final long IDLE = Long.MIN_VALUE;
+
+    private final AtomicLongArray arrivals;
+    private final int mask;
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final LongSupplier nanoClock;
+
+    public ClientRateLimiter(double permitsPerSecond, int burst, int stripes) {
+        this(permitsPerSecond, burst, stripes, System::nanoTime);
+    }
+
+    ClientRateLimiter(double permitsPerSecond, int burst, int stripes, LongSupplier nanoClock) {
+        if (permitsPerSecond <= 0 || burst < 1 || stripes < 1) {
+            throw new IllegalArgumentException("Rate, burst and stripes must be positive");
+        }
+        int size = stripes == 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.arrivals = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            arrivals.set(i, IDLE);
+        }
+        this.mask = size - 1;
+        this.emissionIntervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+        this.burstToleranceNanos = emissionIntervalNanos * burst;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Takes one token from the client's bucket.
+     * Returns 0 when the request is admitted, otherwise how many nanoseconds until a token is available.
+     */
+    public long tryAcquire(String clientId) {
+        int stripe = stripe(clientId);
+        long now = nanoClock.getAsLong();
+        while (true) {
+            long arrival = arrivals.get(stripe);
+            long next = Math.max(arrival, now) + emissionIntervalNanos;
+            long allowedAt = next - burstToleranceNanos;
+            if (allowedAt > now) {
+                return allowedAt - now;
+            }
+            if (arrivals.compareAndSet(stripe, arrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+    public int stripes() {
+        return mask + 1;
+    }
+
+    /** Stripes that have spent part of their burst and are still refilling. */
+    public int activeBuckets() {
+        long now = nanoClock.getAsLong();
+        int active = 0;
+        for (int i = 0; i <= mask; i++) {
+            if (arrivals.get(i) > now) {
+                active++;
+            }
+        }
+        return active;
+    }
+
+    /** Stripes whose next request would be rejected. */
+    public int exhaustedBuckets() {
+        long now = nanoClock.getAsLong();
+        int exhausted = 0;
+        for (int i = 0; i <= mask; i++) {
+            long arrival = arrivals.get(i);
+            if (arrival != IDLE && arrival + emissionIntervalNanos - burstToleranceNanos > now) {
+                exhausted++;
+            }
+        }
+        return exhausted;
+    }
+
+    private int stripe(String clientId) {
+        int h = clientId.hashCode() * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+}
@@ -0,0 +1,14 @@
+package com.bank.app.audit;
+
+import com.bank.app.CustomerAudit;
+
+import java.util.List;
+
+/**
+ * Where {@link CustomerAuditLog} stores a batch of entries. A write that throws is retried with the same entries,
+ * so a writer must either store the whole batch or fail.
+ */
+public interface AuditWriter {
+
+    void write(List<CustomerAudit> rows);
+}
@@ -0,0 +1,203 @@
+package com.bank.app.audit;
+
+import com.bank.app.CustomerAudit;
+import com.bank.app.payload.CustomerDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Write-behind audit trail. Service threads only enqueue into a lock-free ring buffer;
+ * one background thread drains it and hands the entries to the {@link AuditWriter} in batches.
+ * A full buffer makes callers wait for the writer instead of dropping entries,
+ * and stopping the context waits for callers already enqueueing, then drains whatever is still queued.
+ */
+@Component
+public class CustomerAuditLog implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(CustomerAuditLog.class);
+
+    private static final int WRITE_ATTEMPTS = 3;
+    private static final long BACKPRESSURE_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    record Event(Long customerId, CustomerAudit.Action action, Long customerVersion, String email, Instant occurredAt) {
+    }
+
+    @Autowired
+    private AuditWriter auditWriter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.audit.buffer-size:65536}")
+    private int bufferSize = 65536;
+
+    @Value("${app.audit.batch-size:500}")
+    private int batchSize = 500;
+
+    @Value("${app.audit.flush-interval:200ms}")
+    private Duration flushInterval = Duration.ofMillis(200);
+
+    private AuditRingBuffer<Event> buffer;
+    private Counter writtenCounter;
+    private Counter failedCounter;
+    private Counter backpressureCounter;
+    private Timer flushTimer;
+
+    private volatile boolean running;
+    private volatile Thread writer;
+
+    // Callers between the running check and a finished offer; stop() waits for them before its last drain.
+    private final AtomicInteger producers = new AtomicInteger();
+
+    @PostConstruct
+    void init() {
+        buffer = new AuditRingBuffer<>(bufferSize);
+        Gauge.builder("customer.audit.queue.depth", buffer, AuditRingBuffer::size).register(meterRegistry);
+        Gauge.builder("customer.audit.queue.capacity", buffer, AuditRingBuffer::capacity).register(meterRegistry);
+        writtenCounter = meterRegistry.counter("customer.audit.written");
+        failedCounter = meterRegistry.counter("customer.audit.failed");
+        backpressureCounter = meterRegistry.counter("customer.audit.backpressure");
+        flushTimer = Timer.builder("customer.audit.flush")
+                .description("Time to write one batch of audit rows")
+                .register(meterRegistry);
+    }
+
+    public void record(CustomerAudit.Action action, CustomerDTO customerDTO) {
+        Event event = new Event(customerDTO.getId(), action, customerDTO.getVersion(), customerDTO.getEmail(), Instant.now());
+        producers.incrementAndGet();
+        try {
+            if (!running) {
+                // Before start or after stop there is no writer, so the caller pays for the write.
+                writeBatch(List.of(event));
+                return;
+            }
+            if (buffer.offer(event)) {
+                return;
+            }
+
+            backpressureCounter.increment();
+            LockSupport.unpark(writer);
+            while (!buffer.offer(event)) {
+                if (!running) {
+                    writeBatch(List.of(event));
+                    return;
+                }
+                LockSupport.parkNanos(BACKPRESSURE_PARK_NANOS);
+            }
+        } finally {
+            producers.decrementAndGet();
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        writer = Thread.ofPlatform().name("customer-audit-writer").daemon().start(this::drain);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread current = writer;
+        if (current != null) {
+            LockSupport.unpark(current);
+            try {
+                current.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // A caller that saw running before it was cleared may still be offering; let it finish.
+        while (producers.get() > 0) {
+            LockSupport.parkNanos(BACKPRESSURE_PARK_NANOS);
+        }
+        // The writer is gone, so this thread is now the only consumer; pick up anything enqueued during shutdown.
+        drainRemaining();
+        writer = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Stop after the web server, which stops in a higher phase, so in-flight requests are still audited.
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    int queueDepth() {
+        return buffer.size();
+    }
+
+    private void drain() {
+        long flushIntervalNanos = flushInterval.toNanos();
+        while (true) {
+            boolean stopping = !running;
+            drainRemaining();
+            if (stopping) {
+                return;
+            }
+            LockSupport.parkNanos(this, flushIntervalNanos);
+        }
+    }
+
+    private void drainRemaining() {
+        List<Event> batch = new ArrayList<>(batchSize);
+        Event event;
+        while ((event = buffer.poll()) != null) {
+            batch.add(event);
+            if (batch.size() == batchSize) {
+                writeBatch(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            writeBatch(batch);
+        }
+    }
+
+    private void writeBatch(List<Event> batch) {
+        long start = System.nanoTime();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                // Fresh entities per attempt, so a retry never sees ids handed out by a rolled-back insert.
+                List<CustomerAudit> rows = new ArrayList<>(batch.size());
+                for (Event event : batch) {
+                    rows.add(new CustomerAudit(event.customerId(), event.action(), event.customerVersion(),
+                            event.email(), event.occurredAt()));
+                }
+                auditWriter.write(rows);
+                writtenCounter.increment(batch.size());
+                flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return;
+            } catch (RuntimeException e) {
+                if (attempt == WRITE_ATTEMPTS) {
+                    failedCounter.increment(batch.size());
+                    log.error("Dropped {} audit entries after {} attempts", batch.size(), attempt, e);
+                    return;
+                }
+                log.warn("Writing {} audit entries failed, retrying", batch.size(), e);
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(100L * attempt));
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.bank.app.audit;
+
+import com.bank.app.CustomerAudit;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Appends audit entries to a file as NDJSON, one entry per line, for mapped storage where there is no database.
+ * Each batch is forced to disk before the write returns. A batch retried after a partial write may repeat lines.
+ */
+public class FileAuditWriter implements AuditWriter, AutoCloseable {
+
+    private record Line(Long customerId, CustomerAudit.Action action, Long customerVersion, String email, Instant occurredAt) {
+    }
+
+    private final JsonMapper jsonMapper;
+    private final FileChannel channel;
+
+    public FileAuditWriter(Path path, JsonMapper jsonMapper) throws IOException {
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        this.jsonMapper = jsonMapper;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    // The background writer and callers recording while the log is stopped can write at the same time.
+    @Override
+    public synchronized void write(List<CustomerAudit> rows) {
+        StringBuilder lines = new StringBuilder(rows.size() * 128);
+        for (CustomerAudit row : rows) {
+            lines.append(jsonMapper.writeValueAsString(new Line(row.getCustomerId(), row.getAction(),
+                    row.getCustomerVersion(), row.getEmail(), row.getOccurredAt()))).append('\n');
+        }
+        ByteBuffer bytes = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+        try {
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+}
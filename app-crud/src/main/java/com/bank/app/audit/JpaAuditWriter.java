@@ -0,0 +1,29 @@
+package com.bank.app.audit;
+
+import com.bank.app.CustomerAudit;
+import com.bank.app.repository.CustomerAuditRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Inserts audit entries into the customer_audit table, one transaction per batch.
+ */
+@Component
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "jpa", matchIfMissing = true)
+public class JpaAuditWriter implements AuditWriter {
+
+    @Autowired
+    private CustomerAuditRepository customerAuditRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Override
+    public void write(List<CustomerAudit> rows) {
+        transactionTemplate.executeWithoutResult(status -> customerAuditRepository.saveAll(rows));
+    }
+}
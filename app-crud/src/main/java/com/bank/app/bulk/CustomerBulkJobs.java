@@ -0,0 +1,277 @@
+package com.bank.app.bulk;
+
+import com.bank.app.exceptions.CustomerStatusException;
+import com.bank.app.exceptions.ResourceNotFoundException;
+import com.bank.app.payload.CustomerBulkChunk;
+import com.bank.app.payload.CustomerBulkJobResponse;
+import com.bank.app.payload.CustomerBulkJobResponse.Operation;
+import com.bank.app.payload.CustomerBulkJobResponse.Status;
+import com.bank.app.payload.CustomerBulkRequest;
+import com.bank.app.payload.CustomerIdRange;
+import com.bank.app.service.CustomerBulkFields;
+import com.bank.app.service.CustomerService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs bulk updates and deletes in the background. The id span is cut into partitions, which a fixed pool of
+ * workers walks concurrently, chunk-size customers per transaction, so no statement locks more than a chunk of
+ * rows and online requests only ever wait for one chunk. Each partition records the last id it finished, so a
+ * cancelled or failed job reports the ranges still to do as a checkpoint that a new job can resume from. The
+ * checkpoint carries a digest of the operation and filter, so it only resumes the job it was taken from.
+ */
+public class CustomerBulkJobs implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(CustomerBulkJobs.class);
+
+    record Range(long after, long to) {
+    }
+
+    private final CustomerService customerService;
+    private final int partitions;
+    private final int chunkSize;
+    private final long pauseMillis;
+    private final long retentionNanos;
+    private final ExecutorService executor;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    public CustomerBulkJobs(CustomerService customerService, int threads, int partitions, int chunkSize,
+                            Duration pause, Duration retention) {
+        this.customerService = customerService;
+        this.partitions = partitions;
+        this.chunkSize = chunkSize;
+        this.pauseMillis = pause.toMillis();
+        this.retentionNanos = retention.toNanos();
+        this.executor = Executors.newFixedThreadPool(threads, Thread.ofPlatform().name("customer-bulk-", 0).daemon().factory());
+    }
+
+    public CustomerBulkJobResponse start(Operation operation, CustomerBulkRequest request) {
+        CustomerBulkFields.check(request, operation);
+        if (request.getFromId() != null && request.getToId() != null && request.getFromId() > request.getToId()) {
+            throw new CustomerStatusException(HttpStatus.BAD_REQUEST, "fromId must not be greater than toId");
+        }
+        jobs.values().removeIf(Job::expired);
+
+        String scope = scope(operation, request);
+        List<Range> ranges = request.getCheckpoint() != null ? decodeCheckpoint(request.getCheckpoint(), scope) : partition(request);
+        Job job = new Job(operation, request, scope, ranges);
+        jobs.put(job.id, job);
+        if (ranges.isEmpty()) {
+            job.finish();
+        }
+        for (int i = 0; i < ranges.size(); i++) {
+            int partition = i;
+            executor.execute(() -> run(job, partition));
+        }
+        return job.response();
+    }
+
+    public CustomerBulkJobResponse get(String jobId) {
+        return job(jobId).response();
+    }
+
+    /**
+     * Stops the job after the chunks in flight; what they wrote stays committed and is left out of the checkpoint.
+     */
+    public CustomerBulkJobResponse cancel(String jobId) {
+        Job job = job(jobId);
+        job.cancelled = true;
+        return job.response();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    List<Range> partition(CustomerBulkRequest request) {
+        CustomerIdRange idRange = customerService.getCustomerIdRange();
+        if (idRange.getMinId() == null) {
+            return List.of();
+        }
+        long from = request.getFromId() == null ? idRange.getMinId() : Math.max(request.getFromId(), idRange.getMinId());
+        long to = request.getToId() == null ? idRange.getMaxId() : Math.min(request.getToId(), idRange.getMaxId());
+        if (from > to) {
+            return List.of();
+        }
+
+        long span = Math.max(1, (to - from + partitions) / partitions);
+        List<Range> ranges = new ArrayList<>(partitions);
+        for (long after = from - 1; after < to; after += span) {
+            ranges.add(new Range(after, Math.min(after + span, to)));
+        }
+        return ranges;
+    }
+
+    /** What a checkpoint is bound to: the operation, its filter and, for updates, the changes it writes. */
+    static String scope(Operation operation, CustomerBulkRequest request) {
+        String definition = operation + "|" + sorted(request.getWhere()) + "|" + sorted(request.getSet()) + "|"
+                + request.isNormalizePhoneNumbers();
+        return DigestUtils.md5DigestAsHex(definition.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Map<String, String> sorted(Map<String, String> fields) {
+        return fields == null ? Map.of() : new TreeMap<>(fields);
+    }
+
+    static String encodeCheckpoint(String scope, List<Range> ranges) {
+        StringJoiner raw = new StringJoiner(",", scope + ";", "");
+        for (Range range : ranges) {
+            raw.add(range.after() + ":" + range.to());
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    static List<Range> decodeCheckpoint(String checkpoint, String scope) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(checkpoint), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new CustomerStatusException(HttpStatus.BAD_REQUEST, "Invalid checkpoint");
+        }
+        int scopeEnd = raw.indexOf(';');
+        if (scopeEnd < 0) {
+            throw new CustomerStatusException(HttpStatus.BAD_REQUEST, "Invalid checkpoint");
+        }
+        if (!raw.substring(0, scopeEnd).equals(scope)) {
+            throw new CustomerStatusException(HttpStatus.BAD_REQUEST, "Checkpoint belongs to a different operation or filter");
+        }
+        try {
+            List<Range> ranges = new ArrayList<>();
+            for (String range : raw.substring(scopeEnd + 1).split(",")) {
+                int separator = range.indexOf(':');
+                long after = Long.parseLong(range.substring(0, separator));
+                long to = Long.parseLong(range.substring(separator + 1));
+                if (after >= to) {
+                    throw new IllegalArgumentException(range);
+                }
+                ranges.add(new Range(after, to));
+            }
+            return ranges;
+        } catch (IllegalArgumentException | StringIndexOutOfBoundsException e) {
+            throw new CustomerStatusException(HttpStatus.BAD_REQUEST, "Invalid checkpoint");
+        }
+    }
+
+    private Job job(String jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Bulk job", "jobId", jobId);
+        }
+        return job;
+    }
+
+    private void run(Job job, int partition) {
+        Range range = job.ranges.get(partition);
+        try {
+            long lastId = job.positions.get(partition);
+            while (!job.cancelled && !Thread.currentThread().isInterrupted()) {
+                CustomerBulkChunk chunk = job.operation == Operation.UPDATE
+                        ? customerService.updateCustomersInRange(job.request, lastId, range.to(), chunkSize)
+                        : customerService.deleteCustomersInRange(job.request, lastId, range.to(), chunkSize);
+                job.matched.add(chunk.getMatched());
+                job.affected.add(chunk.getAffected());
+                if (chunk.isDone()) {
+                    job.positions.set(partition, range.to());
+                    job.partitionsDone.incrementAndGet();
+                    return;
+                }
+                lastId = chunk.getLastId();
+                job.positions.set(partition, lastId);
+                // Leaves the connection pool and row locks to online traffic between chunks.
+                if (pauseMillis > 0) {
+                    Thread.sleep(pauseMillis);
+                }
+            }
+        } catch (InterruptedException e) {
+            job.cancelled = true;
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.warn("Bulk {} job {} failed in ids {} to {}", job.operation, job.id, job.positions.get(partition) + 1, range.to(), e);
+            job.error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            job.cancelled = true;
+        } finally {
+            if (job.pending.decrementAndGet() == 0) {
+                job.finish();
+            }
+        }
+    }
+
+    private final class Job {
+        final String id = UUID.randomUUID().toString();
+        final Operation operation;
+        final CustomerBulkRequest request;
+        final String scope;
+        final List<Range> ranges;
+        final AtomicLongArray positions;
+        final AtomicInteger pending;
+        final AtomicInteger partitionsDone = new AtomicInteger();
+        final LongAdder matched = new LongAdder();
+        final LongAdder affected = new LongAdder();
+        final long startNanos = System.nanoTime();
+        volatile long finishNanos;
+        volatile boolean cancelled;
+        volatile String error;
+        volatile Status status = Status.RUNNING;
+
+        Job(Operation operation, CustomerBulkRequest request, String scope, List<Range> ranges) {
+            this.operation = operation;
+            this.request = request;
+            this.scope = scope;
+            this.ranges = ranges;
+            this.positions = new AtomicLongArray(ranges.size());
+            for (int i = 0; i < ranges.size(); i++) {
+                positions.set(i, ranges.get(i).after());
+            }
+            this.pending = new AtomicInteger(ranges.size());
+        }
+
+        void finish() {
+            finishNanos = System.nanoTime();
+            status = error != null ? Status.FAILED : partitionsDone.get() == ranges.size() ? Status.COMPLETED : Status.CANCELLED;
+            log.info("Bulk {} job {} {}: {} matched, {} affected in {} ms", operation, id, status, matched.sum(),
+                    affected.sum(), (finishNanos - startNanos) / 1_000_000);
+        }
+
+        boolean expired() {
+            return status != Status.RUNNING && System.nanoTime() - finishNanos > retentionNanos;
+        }
+
+        CustomerBulkJobResponse response() {
+            Status currentStatus = status;
+            long elapsedNanos = (currentStatus == Status.RUNNING ? System.nanoTime() : finishNanos) - startNanos;
+            return new CustomerBulkJobResponse(id, operation, currentStatus, ranges.size(), partitionsDone.get(),
+                    matched.sum(), affected.sum(), elapsedNanos / 1_000_000,
+                    currentStatus == Status.COMPLETED ? null : checkpoint(), error);
+        }
+
+        String checkpoint() {
+            List<Range> remaining = new ArrayList<>();
+            for (int i = 0; i < ranges.size(); i++) {
+                long position = positions.get(i);
+                if (position < ranges.get(i).to()) {
+                    remaining.add(new Range(position, ranges.get(i).to()));
+                }
+            }
+            return remaining.isEmpty() ? null : encodeCheckpoint(scope, remaining);
+        }
+    }
+}
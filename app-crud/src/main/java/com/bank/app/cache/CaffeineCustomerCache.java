@@ -0,0 +1,74 @@
+package com.bank.app.cache;
+
+import com.bank.app.payload.CacheStatsResponse;
+import com.bank.app.payload.CustomerDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import java.time.Duration;
+
+/**
+ * Entries are copied on the way in and out: CustomerDTO is mutable, and a caller changing the one it was handed
+ * must not change what the next reader sees.
+ * <p>
+ * A put never replaces a higher version, and an evicted id keeps a marker until it expires. A read that loaded
+ * the row before a concurrent update or delete can therefore finish after it without bringing the old row back.
+ */
+public class CaffeineCustomerCache implements CustomerCache {
+
+    private static final CustomerDTO DELETED = new CustomerDTO();
+
+    private final Cache<Long, CustomerDTO> cache;
+
+    public CaffeineCustomerCache(long maximumSize, Duration timeToLive) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public CustomerDTO get(Long id) {
+        CustomerDTO customerDTO = cache.getIfPresent(id);
+        return customerDTO == null || customerDTO == DELETED ? null : copy(customerDTO);
+    }
+
+    @Override
+    public void put(CustomerDTO customerDTO) {
+        cache.asMap().merge(customerDTO.getId(), copy(customerDTO), CaffeineCustomerCache::newer);
+    }
+
+    @Override
+    public void evict(Long id) {
+        cache.put(id, DELETED);
+    }
+
+    @Override
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    @Override
+    public CacheStatsResponse stats() {
+        CacheStats stats = cache.stats();
+        return new CacheStatsResponse(stats.hitCount(), stats.missCount(), stats.evictionCount(),
+                cache.estimatedSize(), stats.hitRate());
+    }
+
+    private static CustomerDTO newer(CustomerDTO current, CustomerDTO offered) {
+        if (current == DELETED) {
+            return current;
+        }
+        if (current.getVersion() != null && offered.getVersion() != null && current.getVersion() > offered.getVersion()) {
+            return current;
+        }
+        return offered;
+    }
+
+    private static CustomerDTO copy(CustomerDTO customerDTO) {
+        return new CustomerDTO(customerDTO.getId(), customerDTO.getFirstName(), customerDTO.getLastName(),
+                customerDTO.getEmail(), customerDTO.getPhoneNumber(), customerDTO.getVersion());
+    }
+}
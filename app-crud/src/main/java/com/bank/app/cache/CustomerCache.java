@@ -0,0 +1,23 @@
+package com.bank.app.cache;
+
+import com.bank.app.payload.CacheStatsResponse;
+import com.bank.app.payload.CustomerDTO;
+
+/**
+ * Read-through cache of customers by id, kept in step by the service's write methods.
+ * Use {@link NoOpCustomerCache} when caching moves to Hibernate's second-level cache instead.
+ */
+public interface CustomerCache {
+
+    CustomerDTO get(Long id);
+
+    /** Stores the customer unless the cache already holds a higher version of it. */
+    void put(CustomerDTO customerDTO);
+
+    /** Drops a deleted customer; a put racing with the delete must not bring it back. */
+    void evict(Long id);
+
+    void clear();
+
+    CacheStatsResponse stats();
+}
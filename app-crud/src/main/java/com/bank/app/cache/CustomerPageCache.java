@@ -0,0 +1,113 @@
+package com.bank.app.cache;
+
+import com.bank.app.payload.CountStrategy;
+import com.bank.app.payload.CustomerResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.util.DigestUtils;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized JSON, plus a gzip copy, for the first pages of the customer list. A hit skips the query and Jackson.
+ * Every customer write bumps a generation number and pages from older generations are never served, so a write
+ * invalidates all pages in O(1). The time-to-live bounds staleness from writes this instance does not see,
+ * and from totals that change on their own, like the estimated count.
+ */
+public class CustomerPageCache {
+
+    public record Key(int page, int size, CountStrategy countStrategy) {
+    }
+
+    public record Page(byte[] json, byte[] gzip, String eTag, long generation) {
+
+        /** The ETag of the gzip body: the JSON one with a -gzip suffix inside the quotes. */
+        public String gzipETag() {
+            return eTag.substring(0, eTag.length() - 1) + "-gzip\"";
+        }
+    }
+
+    private final Cache<Key, Page> pages;
+    private final JsonMapper jsonMapper;
+    private final int maxPage;
+    private final int compressionMinSize;
+    private final AtomicLong generation = new AtomicLong();
+
+    public CustomerPageCache(JsonMapper jsonMapper, long maximumBytes, Duration timeToLive, int maxPage,
+                             int compressionMinSize, MeterRegistry meterRegistry) {
+        this.jsonMapper = jsonMapper;
+        this.maxPage = maxPage;
+        this.compressionMinSize = compressionMinSize;
+        this.pages = Caffeine.newBuilder()
+                .maximumWeight(maximumBytes)
+                .weigher((Key key, Page page) -> page.json().length + (page.gzip() == null ? 0 : page.gzip().length))
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, pages, "customer.pages");
+    }
+
+    public boolean caches(int page) {
+        return page < maxPage;
+    }
+
+    public Page get(Key key, Supplier<CustomerResponse> loader) {
+        Page cached = pages.getIfPresent(key);
+        long current = generation.get();
+        if (cached != null && cached.generation() == current) {
+            return cached;
+        }
+
+        byte[] json = jsonMapper.writeValueAsBytes(loader.get());
+        Page page = new Page(json, json.length >= compressionMinSize ? gzip(json) : null,
+                '"' + DigestUtils.md5DigestAsHex(json) + '"', current);
+        // A write during the load has moved the generation on, so the page would be dropped on the next read anyway.
+        if (generation.get() == current) {
+            pages.put(key, page);
+        }
+        return page;
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+    }
+
+    /** Moves on with every customer write, so a load keyed by it is never shared across a write. */
+    public long generation() {
+        return generation.get();
+    }
+
+    /** True when the Accept-Encoding header allows gzip, i.e. lists it (or *) without q=0. */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            String name = parts[0].trim();
+            if (name.equalsIgnoreCase("gzip") || name.equals("*")) {
+                return parts.length < 2 || !parts[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
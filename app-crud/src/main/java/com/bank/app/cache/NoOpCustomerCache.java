@@ -0,0 +1,29 @@
+package com.bank.app.cache;
+
+import com.bank.app.payload.CacheStatsResponse;
+import com.bank.app.payload.CustomerDTO;
+
+public class NoOpCustomerCache implements CustomerCache {
+
+    @Override
+    public CustomerDTO get(Long id) {
+        return null;
+    }
+
+    @Override
+    public void put(CustomerDTO customerDTO) {
+    }
+
+    @Override
+    public void evict(Long id) {
+    }
+
+    @Override
+    public void clear() {
+    }
+
+    @Override
+    public CacheStatsResponse stats() {
+        return new CacheStatsResponse(0L, 0L, 0L, 0L, 0.0);
+    }
+}
@@ -0,0 +1,74 @@
+package com.bank.app.cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent loads of the same key into one. The first caller runs the loader; callers that arrive
+ * while it runs wait for its result, or its exception, instead of repeating the query.
+ * Nothing is kept once the load finishes, so this only saves work that overlaps in time.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder leaders = new LongAdder();
+    private final LongAdder followers = new LongAdder();
+
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            followers.increment();
+            return await(existing);
+        }
+
+        leaders.increment();
+        try {
+            V value = loader.get();
+            call.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    /** Detaches a running load from its key, so callers after a write start a fresh one instead of joining it. */
+    public void forget(K key) {
+        inFlight.remove(key);
+    }
+
+    public long leaders() {
+        return leaders.sum();
+    }
+
+    public long followers() {
+        return followers.sum();
+    }
+
+    /** Share of calls that were answered by another caller's load. */
+    public double coalescingRatio() {
+        long coalesced = followers.sum();
+        long total = coalesced + leaders.sum();
+        return total == 0 ? 0.0 : (double) coalesced / total;
+    }
+
+    private static <V> V await(CompletableFuture<V> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.bank.app.config;
+
+import com.bank.app.admission.AdmissionControlFilter;
+import com.bank.app.admission.ClientRateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Rate and concurrency limits for the customer API, on unless app.admission.enabled=false.
+ * The filter runs after the observation filter, so rejected requests still show up in http.server.requests.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.admission.enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionConfig {
+
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(
+            @Value("${app.admission.public.rate:200}") double publicRate,
+            @Value("${app.admission.public.burst:400}") int publicBurst,
+            @Value("${app.admission.admin.rate:20}") double adminRate,
+            @Value("${app.admission.admin.burst:40}") int adminBurst,
+            @Value("${app.admission.stripes:4096}") int stripes,
+            @Value("${app.admission.max-concurrent-requests:200}") int maxConcurrentRequests,
+            @Value("${app.admission.client-header:}") String clientHeader,
+            MeterRegistry meterRegistry) {
+        AdmissionControlFilter filter = new AdmissionControlFilter(
+                new ClientRateLimiter(publicRate, publicBurst, stripes),
+                new ClientRateLimiter(adminRate, adminBurst, stripes),
+                maxConcurrentRequests, clientHeader, meterRegistry);
+
+        FilterRegistrationBean<AdmissionControlFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/admin/*", "/api/public/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
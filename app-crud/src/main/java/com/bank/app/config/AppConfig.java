@@ -1,14 +1,81 @@
 package com.bank.app.config;
 
+import com.bank.app.bulk.CustomerBulkJobs;
+import com.bank.app.cache.CaffeineCustomerCache;
+import com.bank.app.cache.CustomerCache;
+import com.bank.app.cache.CustomerPageCache;
+import com.bank.app.cache.NoOpCustomerCache;
+import com.bank.app.idempotency.IdempotentRequests;
+import com.bank.app.mapper.CustomerMapper;
+import com.bank.app.mapper.DirectCustomerMapper;
+import com.bank.app.mapper.ModelMapperCustomerMapper;
+import com.bank.app.metrics.CustomerMetrics;
+import com.bank.app.metrics.InstrumentedCustomerMapper;
+import com.bank.app.service.CustomerService;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
 
 @Configuration
 public class AppConfig {
 
+    // Only built when app.mapping.strategy=modelmapper; its reflective setup is wasted startup time otherwise.
     @Bean
+    @Lazy
     public ModelMapper modelMapper() {
         return new ModelMapper();
     }
+
+    @Bean
+    public CustomerMapper customerMapper(@Value("${app.mapping.strategy:direct}") String strategy,
+                                         ObjectProvider<ModelMapper> modelMapper, CustomerMetrics customerMetrics) {
+        CustomerMapper customerMapper = "modelmapper".equalsIgnoreCase(strategy)
+                ? new ModelMapperCustomerMapper(modelMapper.getObject())
+                : new DirectCustomerMapper();
+        return new InstrumentedCustomerMapper(customerMapper, customerMetrics);
+    }
+
+    @Bean
+    public CustomerCache customerCache(@Value("${app.cache.type:caffeine}") String type,
+                                       @Value("${app.cache.maximum-size:10000}") long maximumSize,
+                                       @Value("${app.cache.time-to-live:10m}") Duration timeToLive) {
+        if ("none".equalsIgnoreCase(type)) {
+            return new NoOpCustomerCache();
+        }
+        return new CaffeineCustomerCache(maximumSize, timeToLive);
+    }
+
+    @Bean
+    public IdempotentRequests idempotentRequests(@Value("${app.idempotency.maximum-size:100000}") long maximumSize,
+                                                 @Value("${app.idempotency.time-to-live:1h}") Duration timeToLive,
+                                                 @Value("${app.idempotency.wait-timeout:30s}") Duration waitTimeout) {
+        return new IdempotentRequests(maximumSize, timeToLive, waitTimeout);
+    }
+
+    @Bean
+    public CustomerPageCache customerPageCache(JsonMapper jsonMapper,
+                                               @Value("${app.page-cache.maximum-bytes:33554432}") long maximumBytes,
+                                               @Value("${app.page-cache.time-to-live:5s}") Duration timeToLive,
+                                               @Value("${app.page-cache.max-page:5}") int maxPage,
+                                               @Value("${app.page-cache.compression-min-size:1024}") int compressionMinSize,
+                                               MeterRegistry meterRegistry) {
+        return new CustomerPageCache(jsonMapper, maximumBytes, timeToLive, maxPage, compressionMinSize, meterRegistry);
+    }
+
+    @Bean(destroyMethod = "close")
+    public CustomerBulkJobs customerBulkJobs(CustomerService customerService,
+                                             @Value("${app.bulk.threads:4}") int threads,
+                                             @Value("${app.bulk.partitions:16}") int partitions,
+                                             @Value("${app.bulk.chunk-size:500}") int chunkSize,
+                                             @Value("${app.bulk.pause:0ms}") Duration pause,
+                                             @Value("${app.bulk.retention:1h}") Duration retention) {
+        return new CustomerBulkJobs(customerService, threads, partitions, chunkSize, pause, retention);
+    }
 }
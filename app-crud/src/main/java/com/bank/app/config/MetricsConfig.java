@@ -0,0 +1,42 @@
+package com.bank.app.config;
+
+import com.bank.app.metrics.CustomerMetrics;
+import com.bank.app.metrics.InstrumentedCustomerService;
+import com.bank.app.metrics.TimedJacksonJsonHttpMessageConverter;
+import com.bank.app.service.CustomerService;
+import com.bank.app.service.CustomerServiceImp;
+import com.bank.app.service.MappedCustomerService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.converter.json.JacksonJsonHttpMessageConverter;
+import tools.jackson.databind.json.JsonMapper;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public CustomerMetrics customerMetrics(MeterRegistry meterRegistry) {
+        return new CustomerMetrics(meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public CustomerService instrumentedCustomerService(ObjectProvider<CustomerServiceImp> customerServiceImp,
+                                                       ObjectProvider<MappedCustomerService> mappedCustomerService,
+                                                       CustomerMetrics customerMetrics) {
+        // The mapped store only exists when app.storage.type=mapped; otherwise customers live in JPA.
+        CustomerService storage = mappedCustomerService.getIfAvailable();
+        if (storage == null) {
+            storage = customerServiceImp.getObject();
+        }
+        return new InstrumentedCustomerService(storage, customerMetrics);
+    }
+
+    @Bean
+    public JacksonJsonHttpMessageConverter jacksonJsonHttpMessageConverter(JsonMapper jsonMapper, CustomerMetrics customerMetrics) {
+        return new TimedJacksonJsonHttpMessageConverter(jsonMapper, customerMetrics);
+    }
+}
@@ -0,0 +1,70 @@
+package com.bank.app.config;
+
+import com.bank.app.service.R2dbcCustomerService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.pool.PoolMetrics;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Non-blocking reads under /api/public/reactive and /api/admin/reactive, served by Spring MVC next to the blocking
+ * endpoints. Off with app.reactive.enabled=false, and with mapped storage, where customers are not in the database.
+ */
+@Configuration
+@ConditionalOnExpression(ReactiveConfig.ENABLED)
+public class ReactiveConfig {
+
+    public static final String ENABLED = "${app.reactive.enabled:true} and '${app.storage.type:jpa}' == 'jpa'";
+
+    private static final String JDBC_H2_MEM = "jdbc:h2:mem:";
+
+    // The pool is deliberately not a bean: Boot skips the JDBC DataSource when it finds an R2DBC ConnectionFactory.
+    @Bean(destroyMethod = "close")
+    public R2dbcCustomerService reactiveCustomerService(@Value("${app.reactive.url:}") String url,
+                                                        @Value("${spring.datasource.url}") String jdbcUrl,
+                                                        @Value("${app.reactive.username:${spring.datasource.username:sa}}") String username,
+                                                        @Value("${app.reactive.password:${spring.datasource.password:}}") String password,
+                                                        @Value("${app.reactive.pool.initial-size:2}") int initialSize,
+                                                        @Value("${app.reactive.pool.max-size:10}") int maxSize,
+                                                        @Value("${app.reactive.export-fetch-size:500}") int exportFetchSize,
+                                                        MeterRegistry meterRegistry) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url.isEmpty() ? r2dbcUrl(jdbcUrl) : url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        ConnectionPool connectionPool = new ConnectionPool(ConnectionPoolConfiguration
+                .builder(ConnectionFactories.get(options))
+                .name("customers-r2dbc")
+                .initialSize(initialSize)
+                .maxSize(maxSize)
+                .build());
+        connectionPool.getMetrics().ifPresent(metrics -> {
+            gauge(meterRegistry, "customer.r2dbc.connections.active", metrics, PoolMetrics::acquiredSize);
+            gauge(meterRegistry, "customer.r2dbc.connections.idle", metrics, PoolMetrics::idleSize);
+            gauge(meterRegistry, "customer.r2dbc.connections.pending", metrics, PoolMetrics::pendingAcquireSize);
+        });
+        return new R2dbcCustomerService(DatabaseClient.create(connectionPool), connectionPool, exportFetchSize);
+    }
+
+    /** Points R2DBC at the same in-memory H2 database as JDBC: jdbc:h2:mem:test becomes r2dbc:h2:mem:///test. */
+    static String r2dbcUrl(String jdbcUrl) {
+        if (!jdbcUrl.startsWith(JDBC_H2_MEM)) {
+            throw new IllegalStateException("Set app.reactive.url to the R2DBC URL of " + jdbcUrl);
+        }
+        return "r2dbc:h2:mem:///" + jdbcUrl.substring(JDBC_H2_MEM.length());
+    }
+
+    private static void gauge(MeterRegistry meterRegistry, String name, PoolMetrics metrics, ToDoubleFunction<PoolMetrics> value) {
+        Gauge.builder(name, metrics, value).register(meterRegistry);
+    }
+}
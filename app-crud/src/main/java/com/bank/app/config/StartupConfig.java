@@ -0,0 +1,25 @@
+package com.bank.app.config;
+
+import com.bank.app.controller.CustomerController;
+import com.bank.app.service.CustomerService;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+
+import javax.sql.DataSource;
+
+/**
+ * The prod profile turns on spring.main.lazy-initialization, so beans are created on first use.
+ * Beans on the request path stay eager; otherwise the first request would pay for the pool and JPA bootstrap.
+ */
+@Configuration
+public class StartupConfig {
+
+    @Bean
+    public static LazyInitializationExcludeFilter eagerRequestPathBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(DataSource.class, EntityManagerFactory.class,
+                AbstractEntityManagerFactoryBean.class, CustomerService.class, CustomerController.class);
+    }
+}
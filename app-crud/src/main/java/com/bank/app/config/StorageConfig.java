@@ -0,0 +1,46 @@
+package com.bank.app.config;
+
+import com.bank.app.audit.FileAuditWriter;
+import com.bank.app.service.MappedCustomerService;
+import com.bank.app.storage.MappedCustomerStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Keeps customers in a memory-mapped log file instead of the JPA database when app.storage.type=mapped.
+ * No database is configured then (see {@link StorageEnvironmentPostProcessor}); the audit trail goes to app.audit.path.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "mapped")
+public class StorageConfig {
+
+    @Bean(destroyMethod = "close")
+    public MappedCustomerStore mappedCustomerStore(@Value("${app.storage.path:data/customers.log}") Path path,
+                                                   @Value("${app.storage.segment-records:65536}") int segmentRecords,
+                                                   @Value("${app.storage.compaction-ratio:0.5}") double compactionRatio,
+                                                   @Value("${app.storage.sync-interval:1s}") Duration syncInterval,
+                                                   @Value("${app.storage.compaction-interval:10m}") Duration compactionInterval) throws IOException {
+        MappedCustomerStore store = MappedCustomerStore.open(path, segmentRecords, compactionRatio);
+        store.scheduleMaintenance(syncInterval, compactionInterval);
+        return store;
+    }
+
+    // There is no audit table without a database, so the trail goes to a file next to the store.
+    @Bean(destroyMethod = "close")
+    public FileAuditWriter fileAuditWriter(@Value("${app.audit.path:data/customer-audit.ndjson}") Path path,
+                                           JsonMapper jsonMapper) throws IOException {
+        return new FileAuditWriter(path, jsonMapper);
+    }
+
+    @Bean
+    public MappedCustomerService mappedCustomerService() {
+        return new MappedCustomerService();
+    }
+}
@@ -0,0 +1,37 @@
+package com.bank.app.config;
+
+import org.springframework.boot.EnvironmentPostProcessor;
+import org.springframework.boot.SpringApplication;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.util.StringUtils;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * With app.storage.type=mapped customers never touch a database, so the DataSource, JPA and H2 console
+ * auto-configuration are excluded and no pool or EntityManagerFactory is started. Runs after the config files
+ * are loaded, so the property can come from any of them.
+ */
+public class StorageEnvironmentPostProcessor implements EnvironmentPostProcessor {
+
+    static final List<String> DATABASE_AUTO_CONFIGURATIONS = List.of(
+            "org.springframework.boot.jdbc.autoconfigure.DataSourceAutoConfiguration",
+            "org.springframework.boot.hibernate.autoconfigure.HibernateJpaAutoConfiguration",
+            "org.springframework.boot.data.jpa.autoconfigure.DataJpaRepositoriesAutoConfiguration",
+            "org.springframework.boot.h2console.autoconfigure.H2ConsoleAutoConfiguration");
+
+    private static final String EXCLUDE = "spring.autoconfigure.exclude";
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        if (!"mapped".equals(environment.getProperty("app.storage.type"))) {
+            return;
+        }
+        String excluded = environment.getProperty(EXCLUDE, "");
+        String database = String.join(",", DATABASE_AUTO_CONFIGURATIONS);
+        environment.getPropertySources().addFirst(new MapPropertySource("mappedStorage",
+                Map.of(EXCLUDE, StringUtils.hasText(excluded) ? excluded + "," + database : database)));
+    }
+}
@@ -0,0 +1,45 @@
+package com.bank.app.config;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Active when spring.threads.virtual.enabled=true. Spring Boot then serves Tomcat requests on virtual threads,
+ * and every repository call runs on the request's virtual thread; this bounds how many reach the pool at once.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean
+    public static BeanPostProcessor connectionLimitingDataSourcePostProcessor(
+            @Value("${app.datasource.max-concurrent-connections:${spring.datasource.hikari.maximum-pool-size:10}}") int maxConcurrentConnections,
+            @Value("${app.datasource.permit-timeout-ms:30000}") long permitTimeoutMillis) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ConnectionLimitingDataSource)) {
+                    return new ConnectionLimitingDataSource(dataSource, maxConcurrentConnections, permitTimeoutMillis);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder connectionPermitMetrics(ObjectProvider<DataSource> dataSource) {
+        // Mapped storage runs without a DataSource.
+        return registry -> {
+            if (dataSource.getIfAvailable() instanceof ConnectionLimitingDataSource limiting) {
+                limiting.bindTo(registry);
+            }
+        };
+    }
+}
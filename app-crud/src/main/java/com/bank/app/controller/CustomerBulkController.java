@@ -0,0 +1,55 @@
+package com.bank.app.controller;
+
+import com.bank.app.bulk.CustomerBulkJobs;
+import com.bank.app.payload.CustomerBulkJobResponse;
+import com.bank.app.payload.CustomerBulkRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.URI;
+
+/**
+ * Bulk updates and deletes run as background jobs: a POST answers 202 with the job, which is then polled
+ * at its Location and cancelled with DELETE.
+ */
+@RestController
+@RequestMapping("/api/admin/customers/bulk")
+public class CustomerBulkController {
+
+    @Autowired
+    private CustomerBulkJobs customerBulkJobs;
+
+    @PostMapping("/update")
+    public ResponseEntity<CustomerBulkJobResponse> updateCustomers(@RequestBody CustomerBulkRequest request) {
+        return accepted(customerBulkJobs.start(CustomerBulkJobResponse.Operation.UPDATE, request));
+    }
+
+    @PostMapping("/delete")
+    public ResponseEntity<CustomerBulkJobResponse> deleteCustomers(@RequestBody CustomerBulkRequest request) {
+        return accepted(customerBulkJobs.start(CustomerBulkJobResponse.Operation.DELETE, request));
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<CustomerBulkJobResponse> getJob(@PathVariable String jobId) {
+        return new ResponseEntity<>(customerBulkJobs.get(jobId), HttpStatus.OK);
+    }
+
+    @DeleteMapping("/{jobId}")
+    public ResponseEntity<CustomerBulkJobResponse> cancelJob(@PathVariable String jobId) {
+        return new ResponseEntity<>(customerBulkJobs.cancel(jobId), HttpStatus.OK);
+    }
+
+    private static ResponseEntity<CustomerBulkJobResponse> accepted(CustomerBulkJobResponse job) {
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/admin/customers/bulk/" + job.getJobId()))
+                .body(job);
+    }
+}
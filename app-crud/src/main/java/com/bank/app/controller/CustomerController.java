@@ -1,49 +1,202 @@
 package com.bank.app.controller;
 
 import com.bank.app.Customer;
+import com.bank.app.cache.CustomerPageCache;
+import com.bank.app.exceptions.CustomerStatusException;
+import com.bank.app.idempotency.IdempotentRequests;
+import com.bank.app.payload.CacheStatsResponse;
+import com.bank.app.payload.CountStrategy;
+import com.bank.app.payload.CustomerBatchResponse;
 import com.bank.app.payload.CustomerDTO;
+import com.bank.app.payload.CustomerFieldsResponse;
+import com.bank.app.payload.CustomerImportResponse;
 import com.bank.app.payload.CustomerResponse;
 import com.bank.app.service.CustomerService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.util.List;
+import java.util.Locale;
 
 @RestController
 @RequestMapping("/api")
 public class CustomerController {
 
 
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
     @Autowired
     private CustomerService customerService;
 
+    @Autowired
+    private IdempotentRequests idempotentRequests;
+
+    @Autowired
+    private CustomerPageCache customerPageCache;
+
+    @Value("${app.batch.max-ids:1000}")
+    private int maxBatchIds = 1000;
+
+    @Value("${app.list.max-page-size:1000}")
+    private int maxPageSize = 1000;
+
 
     public CustomerController(CustomerService customerService) {
         this.customerService = customerService;
     }
 
     @PostMapping("/admin/customers")
-    public ResponseEntity<CustomerDTO> createCustomer(@Valid @RequestBody CustomerDTO customerDTO) {
-        CustomerDTO newCustomerDTO = customerService.createCustomer(customerDTO);
-        return new ResponseEntity<>(newCustomerDTO, HttpStatus.OK);
+    public ResponseEntity<CustomerDTO> createCustomer(@Valid @RequestBody CustomerDTO customerDTO,
+                                                      @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return withETag(customerService.createCustomer(customerDTO));
+        }
+        // A retry with the same key gets the first attempt's customer instead of creating another one.
+        IdempotentRequests.Result<CustomerDTO> result = idempotentRequests.execute("create-customer", idempotencyKey,
+                customerDTO, () -> customerService.createCustomer(customerDTO));
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (result.replayed()) {
+            builder.header("Idempotent-Replayed", "true");
+        }
+        return withETag(builder, result.value());
+    }
+
+    @PostMapping(value = "/admin/customers/import",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<CustomerImportResponse> importCustomers(InputStream body) {
+        CustomerImportResponse importResponse = customerService.importCustomers(body);
+        return new ResponseEntity<>(importResponse, HttpStatus.OK);
     }
 
     @GetMapping("/public/customers")
-    public ResponseEntity<CustomerResponse> getAllCustomers(
-            @RequestParam(name = "pageNumber") Integer pageNumber,
-            @RequestParam(name = "pageSize") Integer pageSize
+    public ResponseEntity<?> getAllCustomers(
+            @RequestParam(name = "pageNumber", required = false) Integer pageNumber,
+            @RequestParam(name = "pageSize") Integer pageSize,
+            @RequestParam(name = "after", required = false) String after,
+            @RequestParam(name = "includeTotal", defaultValue = "false") boolean includeTotal,
+            @RequestParam(name = "count", required = false) String count,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest webRequest
+    ) {
+        checkPageSize(pageSize);
+        // Without a page number the caller is walking by cursor, which avoids OFFSET scans.
+        if (pageNumber == null) {
+            return new ResponseEntity<>(customerService.getCustomersAfter(after, pageSize, includeTotal), HttpStatus.OK);
+        }
+        CountStrategy countStrategy = countStrategy(count);
+        if (!customerPageCache.caches(pageNumber)) {
+            return new ResponseEntity<>(customerService.getAllCustomers(pageNumber, pageSize, countStrategy), HttpStatus.OK);
+        }
+
+        // Hot pages are served as cached bytes, already compressed when the client takes gzip.
+        CustomerPageCache.Page page = customerPageCache.get(new CustomerPageCache.Key(pageNumber, pageSize, countStrategy),
+                () -> customerService.getAllCustomers(pageNumber, pageSize, countStrategy));
+        // The two encodings are different bytes, so each carries its own strong ETag.
+        boolean gzip = page.gzip() != null && CustomerPageCache.acceptsGzip(acceptEncoding);
+        String eTag = gzip ? page.gzipETag() : page.eTag();
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(eTag)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(page.gzip());
+        }
+        return builder.body(page.json());
+    }
+
+    @GetMapping(value = "/public/customers", params = "fields")
+    public ResponseEntity<CustomerFieldsResponse> getCustomerFields(
+            @RequestParam(name = "fields") List<String> fields,
+            @RequestParam(name = "pageNumber", required = false) Integer pageNumber,
+            @RequestParam(name = "pageSize") Integer pageSize,
+            @RequestParam(name = "after", required = false) String after
+    ) {
+        checkPageSize(pageSize);
+        CustomerFieldsResponse fieldsResponse = customerService.getCustomerFields(fields, pageNumber, after, pageSize);
+        return new ResponseEntity<>(fieldsResponse, HttpStatus.OK);
+    }
+
+    @GetMapping(value = "/public/customers", params = "ids")
+    public ResponseEntity<CustomerBatchResponse> getCustomersByIds(@RequestParam(name = "ids") List<Long> ids) {
+        return getCustomersBatch(ids);
+    }
+
+    // Both parameters would otherwise match the fields and ids mappings equally well. A batch lookup always
+    // returns whole customers, so the combination is refused rather than one of them ignored.
+    @GetMapping(value = "/public/customers", params = {"ids", "fields"})
+    public ResponseEntity<CustomerBatchResponse> getCustomersByIdsWithFields() {
+        throw new CustomerStatusException(HttpStatus.BAD_REQUEST, "fields cannot be combined with ids");
+    }
+
+    @PostMapping("/public/customers/batch")
+    public ResponseEntity<CustomerBatchResponse> getCustomersBatch(@RequestBody List<Long> ids) {
+        if (ids.size() > maxBatchIds) {
+            throw new CustomerStatusException(HttpStatus.BAD_REQUEST, "At most " + maxBatchIds + " ids per request");
+        }
+        if (ids.contains(null)) {
+            throw new CustomerStatusException(HttpStatus.BAD_REQUEST, "ids must not contain null");
+        }
+        CustomerBatchResponse batchResponse = customerService.getCustomersByIds(ids);
+        return new ResponseEntity<>(batchResponse, HttpStatus.OK);
+    }
+
+    @GetMapping("/public/customers/search")
+    public ResponseEntity<CustomerResponse> searchCustomers(
+            @RequestParam(name = "q") String query,
+            @RequestParam(name = "pageNumber", defaultValue = "0") Integer pageNumber,
+            @RequestParam(name = "pageSize", defaultValue = "20") Integer pageSize
     ) {
-        CustomerResponse customerResponse = customerService.getAllCustomers(pageNumber, pageSize);
+        checkPageSize(pageSize);
+        CustomerResponse customerResponse = customerService.searchCustomers(query, pageNumber, pageSize);
         return new ResponseEntity<>(customerResponse, HttpStatus.OK);
     }
 
+    @GetMapping("/public/customers/{customerId}")
+    public ResponseEntity<CustomerDTO> getCustomerById(@PathVariable Long customerId) {
+        CustomerDTO customerDTO = customerService.getCustomerById(customerId);
+        return withETag(customerDTO);
+    }
+
+    @GetMapping("/admin/customers/export")
+    public ResponseEntity<StreamingResponseBody> exportCustomers(
+            @RequestParam(name = "format", defaultValue = "ndjson") String format
+    ) {
+        MediaType mediaType = "csv".equalsIgnoreCase(format)
+                ? MediaType.parseMediaType("text/csv")
+                : MediaType.APPLICATION_NDJSON;
+        StreamingResponseBody body = outputStream -> customerService.exportCustomers(format, outputStream);
+        return ResponseEntity.ok().contentType(mediaType).body(body);
+    }
+
+    @GetMapping("/admin/customers/cache/stats")
+    public ResponseEntity<CacheStatsResponse> getCacheStats() {
+        return new ResponseEntity<>(customerService.getCacheStats(), HttpStatus.OK);
+    }
+
     @PutMapping("/public/customers/{customerId}")
-    public ResponseEntity<CustomerDTO> updateCustomer(@RequestBody CustomerDTO customerDTO, @PathVariable Long customerId) {
-        CustomerDTO savedCustomer = customerService.updateCustomer(customerDTO,  customerId);
-        return new ResponseEntity<>(savedCustomer, HttpStatus.OK);
+    public ResponseEntity<CustomerDTO> updateCustomer(@RequestBody CustomerDTO customerDTO, @PathVariable Long customerId,
+                                                      @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        CustomerDTO savedCustomer = customerService.updateCustomer(customerDTO, customerId, expectedVersion(ifMatch));
+        return withETag(savedCustomer);
+    }
+
+    @PatchMapping("/public/customers/{customerId}")
+    public ResponseEntity<CustomerDTO> patchCustomer(@RequestBody CustomerDTO customerDTO, @PathVariable Long customerId,
+                                                     @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        CustomerDTO savedCustomer = customerService.patchCustomer(customerDTO, customerId, expectedVersion(ifMatch));
+        return withETag(savedCustomer);
     }
 
     @DeleteMapping("/admin/customers/{customerId}")
@@ -52,6 +205,47 @@ public class CustomerController {
         return new ResponseEntity<>(customerDTO, HttpStatus.OK);
     }
 
+    private static ResponseEntity<CustomerDTO> withETag(CustomerDTO customerDTO) {
+        return withETag(ResponseEntity.ok(), customerDTO);
+    }
 
+    private static ResponseEntity<CustomerDTO> withETag(ResponseEntity.BodyBuilder builder, CustomerDTO customerDTO) {
+        if (customerDTO.getVersion() != null) {
+            builder.eTag(String.valueOf(customerDTO.getVersion()));
+        }
+        return builder.body(customerDTO);
+    }
 
+    private void checkPageSize(Integer pageSize) {
+        if (pageSize < 1 || pageSize > maxPageSize) {
+            throw new CustomerStatusException(HttpStatus.BAD_REQUEST, "pageSize must be between 1 and " + maxPageSize);
+        }
+    }
+
+    private static CountStrategy countStrategy(String count) {
+        if (count == null || count.isBlank()) {
+            return null;
+        }
+        try {
+            return CountStrategy.valueOf(count.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new CustomerStatusException(HttpStatus.BAD_REQUEST, "count must be one of exact, maintained, estimated, none");
+        }
+    }
+
+    // The ETag is the entity version in quotes; "*" or no header means the caller does not care which version it overwrites.
+    private static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        try {
+            return Long.valueOf(tag.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            throw new CustomerStatusException(HttpStatus.BAD_REQUEST, "Invalid If-Match header");
+        }
+    }
 }
@@ -0,0 +1,73 @@
+package com.bank.app.controller;
+
+import com.bank.app.config.ReactiveConfig;
+import com.bank.app.exceptions.CustomerStatusException;
+import com.bank.app.payload.CustomerDTO;
+import com.bank.app.service.ReactiveCustomerService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Read-only reactive flavour of {@link CustomerController}. Lists and exports are written as NDJSON, one customer
+ * per line; the next row is only requested once the previous one has been written to the client.
+ */
+@RestController
+@RequestMapping("/api")
+@ConditionalOnExpression(ReactiveConfig.ENABLED)
+public class ReactiveCustomerController {
+
+    static final String NEXT_CURSOR = "Next-Cursor";
+
+    @Autowired
+    private ReactiveCustomerService reactiveCustomerService;
+
+    @Value("${app.list.max-page-size:1000}")
+    private int maxPageSize = 1000;
+
+    @GetMapping("/public/reactive/customers/{customerId}")
+    public Mono<CustomerDTO> getCustomerById(@PathVariable Long customerId) {
+        return reactiveCustomerService.getCustomerById(customerId);
+    }
+
+    @GetMapping(value = "/public/reactive/customers", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Mono<ResponseEntity<Flux<CustomerDTO>>> getAllCustomers(
+            @RequestParam(name = "pageNumber", required = false) Integer pageNumber,
+            @RequestParam(name = "pageSize") Integer pageSize,
+            @RequestParam(name = "after", required = false) String after
+    ) {
+        checkPageSize(pageSize);
+        if (pageNumber == null) {
+            // The body is streamed, so the cursor of the next page travels in a header sent before the first row.
+            Flux<CustomerDTO> customers = reactiveCustomerService.getCustomersAfter(after, pageSize);
+            return reactiveCustomerService.getNextCursor(after, pageSize)
+                    .map(cursor -> ResponseEntity.ok().header(NEXT_CURSOR, cursor).body(customers))
+                    .defaultIfEmpty(ResponseEntity.ok(customers));
+        }
+        if (pageNumber < 0) {
+            throw new CustomerStatusException(HttpStatus.BAD_REQUEST, "pageNumber must not be negative");
+        }
+        return Mono.just(ResponseEntity.ok(reactiveCustomerService.getAllCustomers(pageNumber, pageSize)));
+    }
+
+    @GetMapping(value = "/admin/reactive/customers/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<CustomerDTO> exportCustomers() {
+        return reactiveCustomerService.exportCustomers();
+    }
+
+    private void checkPageSize(Integer pageSize) {
+        if (pageSize < 1 || pageSize > maxPageSize) {
+            throw new CustomerStatusException(HttpStatus.BAD_REQUEST, "pageSize must be between 1 and " + maxPageSize);
+        }
+    }
+}
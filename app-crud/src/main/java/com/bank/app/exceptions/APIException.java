@@ -5,11 +5,11 @@ public class APIException extends RuntimeException{
     private static final long serialVersionUID = 1L;
 
     public APIException(){
-
+        this(null);
     }
 
 
     public APIException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
@@ -0,0 +1,22 @@
+package com.bank.app.exceptions;
+
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * ResponseStatusException for outcomes that are part of normal traffic: unknown ids, conflicts, bad input.
+ * Filling in the stack trace is most of the cost of throwing, and nobody reads it for these, so it is skipped.
+ */
+public class CustomerStatusException extends ResponseStatusException {
+
+    private static final long serialVersionUID = 1L;
+
+    public CustomerStatusException(HttpStatusCode status, String reason) {
+        super(status, reason);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
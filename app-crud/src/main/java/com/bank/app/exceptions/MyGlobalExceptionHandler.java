@@ -1,35 +1,49 @@
 package com.bank.app.exceptions;
 
 
+import com.bank.app.metrics.CustomerMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.server.ResponseStatusException;
 
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
+// Errors are answered here as problem details rather than through the servlet error page, which costs a second dispatch.
 @RestControllerAdvice
 public class MyGlobalExceptionHandler {
 
+    @Autowired
+    private CustomerMetrics customerMetrics;
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
-    public ResponseEntity<Map<String,String>> handleMethodArgumentNotValidException(MethodArgumentNotValidException ex) {
-        Map<String,String> errors = new HashMap<>();
+    public ResponseEntity<byte[]> handleMethodArgumentNotValidException(MethodArgumentNotValidException ex) {
+        customerMetrics.recordError(ex);
+        Map<String,String> errors = new LinkedHashMap<>();
         ex.getBindingResult().getAllErrors().forEach((error) -> {
-            String fieldName = ((FieldError)error).getField();
+            String fieldName = error instanceof FieldError fieldError ? fieldError.getField() : error.getObjectName();
             String errorMessage = error.getDefaultMessage();
             errors.put(fieldName, errorMessage);
         });
-        return new ResponseEntity<Map<String, String>>(errors, HttpStatus.BAD_REQUEST);
+        return ResponseEntity.badRequest()
+                .contentType(MediaType.APPLICATION_PROBLEM_JSON)
+                .body(ProblemBodies.of(HttpStatus.BAD_REQUEST, "Validation failed", errors));
     }
 
     @ExceptionHandler(ResourceNotFoundException.class)
-    public ResponseEntity<APIException> myResourceNotFoundException(ResourceNotFoundException e) {
-        String message = e.getMessage();
-        APIException response = new APIException(message);
-        return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
+    public ResponseEntity<byte[]> myResourceNotFoundException(ResourceNotFoundException e) {
+        return ProblemBodies.response(HttpStatus.NOT_FOUND, e.getResourceName() + " not found");
+    }
+
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<byte[]> handleResponseStatusException(ResponseStatusException e) {
+        return ProblemBodies.response(e.getStatusCode(), e.getReason(), e.getHeaders());
     }
 
 
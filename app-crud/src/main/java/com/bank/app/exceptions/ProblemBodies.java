@@ -0,0 +1,106 @@
+package com.bank.app.exceptions;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * RFC 9457 problem details written straight to bytes. Error bodies repeat the same few status and detail
+ * pairs, so each one is encoded once and then served from a small cache without touching Jackson.
+ */
+public final class ProblemBodies {
+
+    private static final int MAX_CACHED = 256;
+
+    private static final Map<String, byte[]> cache = new ConcurrentHashMap<>();
+
+    private ProblemBodies() {
+    }
+
+    public static ResponseEntity<byte[]> response(HttpStatusCode status, String detail) {
+        return response(status, detail, HttpHeaders.EMPTY);
+    }
+
+    public static ResponseEntity<byte[]> response(HttpStatusCode status, String detail, HttpHeaders headers) {
+        return ResponseEntity.status(status)
+                .headers(headers)
+                .contentType(MediaType.APPLICATION_PROBLEM_JSON)
+                .body(of(status, detail));
+    }
+
+    public static byte[] of(HttpStatusCode status, String detail) {
+        String key = status.value() + ":" + detail;
+        byte[] body = cache.get(key);
+        if (body == null) {
+            body = encode(status, detail, Map.of());
+            if (cache.size() < MAX_CACHED) {
+                cache.putIfAbsent(key, body);
+            }
+        }
+        return body;
+    }
+
+    /** Encodes a body with per-field errors; these vary per request and are not cached. */
+    public static byte[] of(HttpStatusCode status, String detail, Map<String, String> errors) {
+        return encode(status, detail, errors);
+    }
+
+    private static byte[] encode(HttpStatusCode status, String detail, Map<String, String> errors) {
+        HttpStatus resolved = HttpStatus.resolve(status.value());
+        StringBuilder json = new StringBuilder(96);
+        json.append("{\"type\":\"about:blank\",\"title\":");
+        quote(json, resolved != null ? resolved.getReasonPhrase() : "Error");
+        json.append(",\"status\":").append(status.value());
+        if (detail != null) {
+            json.append(",\"detail\":");
+            quote(json, detail);
+        }
+        if (!errors.isEmpty()) {
+            json.append(",\"errors\":{");
+            boolean first = true;
+            for (Map.Entry<String, String> error : errors.entrySet()) {
+                if (!first) {
+                    json.append(',');
+                }
+                first = false;
+                quote(json, error.getKey());
+                json.append(':');
+                quote(json, error.getValue());
+            }
+            json.append('}');
+        }
+        return json.append('}').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void quote(StringBuilder json, String value) {
+        if (value == null) {
+            json.append("null");
+            return;
+        }
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        json.append('"');
+    }
+}
@@ -1,5 +1,6 @@
 package com.bank.app.exceptions;
 
+// Thrown for ids that do not exist, which is routine traffic, so it carries no stack trace.
 public class ResourceNotFoundException extends RuntimeException {
     String resourceName;
     String field;
@@ -7,18 +8,22 @@ public class ResourceNotFoundException extends RuntimeException {
     Long fieldId;
 
     public ResourceNotFoundException(String resourceName, String field, String fieldName){
-        super("Resource " + resourceName + " not found with name " + fieldName + " and field " + fieldName);
+        super("Resource " + resourceName + " not found with name " + fieldName + " and field " + fieldName, null, false, false);
         this.resourceName = resourceName;
         this.field = field;
         this.fieldName = fieldName;
     }
 
     public ResourceNotFoundException(String resourceName, String field,  Long fieldId){
-        super("Resource " + resourceName + " not found with name " + field + " and id " + fieldId);
+        super("Resource " + resourceName + " not found with name " + field + " and id " + fieldId, null, false, false);
         this.resourceName = resourceName;
         this.field = field;
         this.fieldId = fieldId;
 
     }
 
+    public String getResourceName() {
+        return resourceName;
+    }
+
 }
@@ -0,0 +1,92 @@
+package com.bank.app.idempotency;
+
+import com.bank.app.exceptions.CustomerStatusException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Deduplicates requests that carry an Idempotency-Key. The first request with a key runs and publishes its result
+ * through a future; retries that arrive while it runs wait on that future, and later ones get the stored result.
+ * Only successes are kept: a failed attempt frees the key so the client can try again.
+ */
+public class IdempotentRequests {
+
+    public record Result<T>(T value, boolean replayed) {
+    }
+
+    private record Entry(Object request, CompletableFuture<Object> response) {
+    }
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final ConcurrentMap<String, Entry> entries;
+    private final long waitTimeoutMillis;
+
+    public IdempotentRequests(long maximumSize, Duration timeToLive, Duration waitTimeout) {
+        Cache<String, Entry> cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .build();
+        this.entries = cache.asMap();
+        this.waitTimeoutMillis = waitTimeout.toMillis();
+    }
+
+    /**
+     * Runs action once per scope and key. The request is compared with the one first seen under the key,
+     * so a key reused for a different body is rejected instead of answering with someone else's result.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Result<T> execute(String scope, String key, Object request, Supplier<T> action) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new CustomerStatusException(HttpStatus.BAD_REQUEST, "Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        String entryKey = scope + ':' + key;
+        Entry entry = new Entry(request, new CompletableFuture<>());
+        Entry existing = entries.putIfAbsent(entryKey, entry);
+        if (existing != null) {
+            if (!existing.request().equals(request)) {
+                throw new CustomerStatusException(HttpStatus.UNPROCESSABLE_CONTENT, "Idempotency-Key was already used for a different request");
+            }
+            return new Result<>((T) await(existing.response()), true);
+        }
+
+        try {
+            T value = action.get();
+            entry.response().complete(value);
+            return new Result<>(value, false);
+        } catch (RuntimeException e) {
+            entries.remove(entryKey, entry);
+            entry.response().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    public long size() {
+        return entries.size();
+    }
+
+    private Object await(CompletableFuture<Object> response) {
+        try {
+            return response.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new CustomerStatusException(HttpStatus.CONFLICT, "A request with this Idempotency-Key is still in progress");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CustomerStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Interrupted while waiting for the original request");
+        }
+    }
+}
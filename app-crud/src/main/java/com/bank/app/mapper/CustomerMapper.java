@@ -0,0 +1,22 @@
+package com.bank.app.mapper;
+
+import com.bank.app.Customer;
+import com.bank.app.payload.CustomerDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public interface CustomerMapper {
+
+    CustomerDTO toDto(Customer customer);
+
+    Customer toEntity(CustomerDTO customerDTO);
+
+    default List<CustomerDTO> toDtoList(List<Customer> customers) {
+        List<CustomerDTO> customerDTOS = new ArrayList<>(customers.size());
+        for (Customer customer : customers) {
+            customerDTOS.add(toDto(customer));
+        }
+        return customerDTOS;
+    }
+}
@@ -0,0 +1,34 @@
+package com.bank.app.mapper;
+
+import com.bank.app.Customer;
+import com.bank.app.payload.CustomerDTO;
+
+/**
+ * Field-by-field mapping written out by hand, so there is no type map lookup or reflection per call.
+ * Keep it in step with the fields of {@link Customer} and {@link CustomerDTO}.
+ */
+public class DirectCustomerMapper implements CustomerMapper {
+
+    @Override
+    public CustomerDTO toDto(Customer customer) {
+        return new CustomerDTO(
+                customer.getId(),
+                customer.getFirstName(),
+                customer.getLastName(),
+                customer.getEmail(),
+                customer.getPhoneNumber(),
+                customer.getVersion());
+    }
+
+    @Override
+    public Customer toEntity(CustomerDTO customerDTO) {
+        Customer customer = new Customer(
+                customerDTO.getId(),
+                customerDTO.getFirstName(),
+                customerDTO.getLastName(),
+                customerDTO.getEmail(),
+                customerDTO.getPhoneNumber());
+        customer.setVersion(customerDTO.getVersion());
+        return customer;
+    }
+}
@@ -0,0 +1,24 @@
+package com.bank.app.mapper;
+
+import com.bank.app.Customer;
+import com.bank.app.payload.CustomerDTO;
+import org.modelmapper.ModelMapper;
+
+public class ModelMapperCustomerMapper implements CustomerMapper {
+
+    private final ModelMapper modelMapper;
+
+    public ModelMapperCustomerMapper(ModelMapper modelMapper) {
+        this.modelMapper = modelMapper;
+    }
+
+    @Override
+    public CustomerDTO toDto(Customer customer) {
+        return modelMapper.map(customer, CustomerDTO.class);
+    }
+
+    @Override
+    public Customer toEntity(CustomerDTO customerDTO) {
+        return modelMapper.map(customerDTO, Customer.class);
+    }
+}
@@ -0,0 +1,97 @@
+package com.bank.app.metrics;
+
+import com.bank.app.cache.SingleFlight;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meters for the customer API. Timers are registered up front and looked up by enum ordinal,
+ * so recording on the hot path is a nanoTime call and a histogram update with no allocation.
+ */
+public class CustomerMetrics {
+
+    public enum Operation {
+        CREATE, LIST, LIST_AFTER, LIST_FIELDS, GET, GET_MANY, SEARCH, UPDATE, PATCH, DELETE, IMPORT, EXPORT, CACHE_STATS,
+        ID_RANGE, BULK_UPDATE, BULK_DELETE
+    }
+
+    public enum Mapping {
+        TO_DTO, TO_ENTITY, TO_DTO_LIST
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final Timer[] serviceTimers;
+    private final Timer[] mappingTimers;
+    private final Timer serializationTimer;
+    private final Map<Class<?>, Counter> errorCounters = new ConcurrentHashMap<>();
+
+    public CustomerMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+
+        this.serviceTimers = new Timer[Operation.values().length];
+        for (Operation operation : Operation.values()) {
+            serviceTimers[operation.ordinal()] = histogram("customer.service", "operation", operation);
+        }
+
+        this.mappingTimers = new Timer[Mapping.values().length];
+        for (Mapping kind : Mapping.values()) {
+            mappingTimers[kind.ordinal()] = histogram("customer.mapping", "kind", kind);
+        }
+
+        this.serializationTimer = Timer.builder("customer.serialization")
+                .description("Time spent writing JSON response bodies")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    public void recordService(Operation operation, long startNanos) {
+        serviceTimers[operation.ordinal()].record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordMapping(Mapping mapping, long startNanos) {
+        mappingTimers[mapping.ordinal()].record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordSerialization(long startNanos) {
+        serializationTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordError(Throwable error) {
+        errorCounters.computeIfAbsent(error.getClass(), type -> Counter.builder("customer.errors")
+                .description("Customer API errors by exception type")
+                .tag("exception", type.getSimpleName())
+                .register(meterRegistry)).increment();
+    }
+
+    public void registerSingleFlight(String name, SingleFlight<?, ?> singleFlight) {
+        FunctionCounter.builder("customer.coalescing.calls", singleFlight, SingleFlight::leaders)
+                .description("Loads that ran against the store")
+                .tag("name", name)
+                .tag("role", "leader")
+                .register(meterRegistry);
+        FunctionCounter.builder("customer.coalescing.calls", singleFlight, SingleFlight::followers)
+                .description("Calls that shared another caller's in-flight load")
+                .tag("name", name)
+                .tag("role", "follower")
+                .register(meterRegistry);
+        Gauge.builder("customer.coalescing.ratio", singleFlight, SingleFlight::coalescingRatio)
+                .description("Share of calls answered by another caller's load since startup")
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    private Timer histogram(String name, String tagKey, Enum<?> tagValue) {
+        return Timer.builder(name)
+                .tag(tagKey, tagValue.name().toLowerCase(Locale.ROOT))
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
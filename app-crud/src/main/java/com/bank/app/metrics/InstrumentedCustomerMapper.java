@@ -0,0 +1,42 @@
+package com.bank.app.metrics;
+
+import com.bank.app.Customer;
+import com.bank.app.mapper.CustomerMapper;
+import com.bank.app.payload.CustomerDTO;
+
+import java.util.List;
+
+public class InstrumentedCustomerMapper implements CustomerMapper {
+
+    private final CustomerMapper delegate;
+    private final CustomerMetrics customerMetrics;
+
+    public InstrumentedCustomerMapper(CustomerMapper delegate, CustomerMetrics customerMetrics) {
+        this.delegate = delegate;
+        this.customerMetrics = customerMetrics;
+    }
+
+    @Override
+    public CustomerDTO toDto(Customer customer) {
+        long start = System.nanoTime();
+        CustomerDTO customerDTO = delegate.toDto(customer);
+        customerMetrics.recordMapping(CustomerMetrics.Mapping.TO_DTO, start);
+        return customerDTO;
+    }
+
+    @Override
+    public Customer toEntity(CustomerDTO customerDTO) {
+        long start = System.nanoTime();
+        Customer customer = delegate.toEntity(customerDTO);
+        customerMetrics.recordMapping(CustomerMetrics.Mapping.TO_ENTITY, start);
+        return customer;
+    }
+
+    @Override
+    public List<CustomerDTO> toDtoList(List<Customer> customers) {
+        long start = System.nanoTime();
+        List<CustomerDTO> customerDTOS = delegate.toDtoList(customers);
+        customerMetrics.recordMapping(CustomerMetrics.Mapping.TO_DTO_LIST, start);
+        return customerDTOS;
+    }
+}
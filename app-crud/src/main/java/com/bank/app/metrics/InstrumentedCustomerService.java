@@ -0,0 +1,242 @@
+package com.bank.app.metrics;
+
+import com.bank.app.payload.CacheStatsResponse;
+import com.bank.app.payload.CountStrategy;
+import com.bank.app.payload.CustomerBatchResponse;
+import com.bank.app.payload.CustomerBulkChunk;
+import com.bank.app.payload.CustomerBulkRequest;
+import com.bank.app.payload.CustomerDTO;
+import com.bank.app.payload.CustomerFieldsResponse;
+import com.bank.app.payload.CustomerIdRange;
+import com.bank.app.payload.CustomerImportResponse;
+import com.bank.app.payload.CustomerResponse;
+import com.bank.app.service.CustomerService;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+
+import static com.bank.app.metrics.CustomerMetrics.Operation;
+
+/**
+ * Times every {@link CustomerService} call and counts the exceptions it throws, by type.
+ */
+public class InstrumentedCustomerService implements CustomerService {
+
+    private final CustomerService delegate;
+    private final CustomerMetrics customerMetrics;
+
+    public InstrumentedCustomerService(CustomerService delegate, CustomerMetrics customerMetrics) {
+        this.delegate = delegate;
+        this.customerMetrics = customerMetrics;
+    }
+
+    @Override
+    public CustomerDTO createCustomer(CustomerDTO customerDTO) {
+        long start = System.nanoTime();
+        try {
+            return delegate.createCustomer(customerDTO);
+        } catch (RuntimeException e) {
+            customerMetrics.recordError(e);
+            throw e;
+        } finally {
+            customerMetrics.recordService(Operation.CREATE, start);
+        }
+    }
+
+    @Override
+    public CustomerResponse getAllCustomers(Integer page, Integer size, CountStrategy countStrategy) {
+        long start = System.nanoTime();
+        try {
+            return delegate.getAllCustomers(page, size, countStrategy);
+        } catch (RuntimeException e) {
+            customerMetrics.recordError(e);
+            throw e;
+        } finally {
+            customerMetrics.recordService(Operation.LIST, start);
+        }
+    }
+
+    @Override
+    public CustomerResponse getCustomersAfter(String after, Integer size, boolean includeTotal) {
+        long start = System.nanoTime();
+        try {
+            return delegate.getCustomersAfter(after, size, includeTotal);
+        } catch (RuntimeException e) {
+            customerMetrics.recordError(e);
+            throw e;
+        } finally {
+            customerMetrics.recordService(Operation.LIST_AFTER, start);
+        }
+    }
+
+    @Override
+    public CustomerFieldsResponse getCustomerFields(List<String> fields, Integer page, String after, Integer size) {
+        long start = System.nanoTime();
+        try {
+            return delegate.getCustomerFields(fields, page, after, size);
+        } catch (RuntimeException e) {
+            customerMetrics.recordError(e);
+            throw e;
+        } finally {
+            customerMetrics.recordService(Operation.LIST_FIELDS, start);
+        }
+    }
+
+    @Override
+    public CustomerDTO getCustomerById(Long id) {
+        long start = System.nanoTime();
+        try {
+            return delegate.getCustomerById(id);
+        } catch (RuntimeException e) {
+            customerMetrics.recordError(e);
+            throw e;
+        } finally {
+            customerMetrics.recordService(Operation.GET, start);
+        }
+    }
+
+    @Override
+    public CustomerBatchResponse getCustomersByIds(List<Long> ids) {
+        long start = System.nanoTime();
+        try {
+            return delegate.getCustomersByIds(ids);
+        } catch (RuntimeException e) {
+            customerMetrics.recordError(e);
+            throw e;
+        } finally {
+            customerMetrics.recordService(Operation.GET_MANY, start);
+        }
+    }
+
+    @Override
+    public CustomerResponse searchCustomers(String query, Integer page, Integer size) {
+        long start = System.nanoTime();
+        try {
+            return delegate.searchCustomers(query, page, size);
+        } catch (RuntimeException e) {
+            customerMetrics.recordError(e);
+            throw e;
+        } finally {
+            customerMetrics.recordService(Operation.SEARCH, start);
+        }
+    }
+
+    @Override
+    public CustomerDTO updateCustomer(CustomerDTO customerDTO, Long id, Long expectedVersion) {
+        long start = System.nanoTime();
+        try {
+            return delegate.updateCustomer(customerDTO, id, expectedVersion);
+        } catch (RuntimeException e) {
+            customerMetrics.recordError(e);
+            throw e;
+        } finally {
+            customerMetrics.recordService(Operation.UPDATE, start);
+        }
+    }
+
+    @Override
+    public CustomerDTO patchCustomer(CustomerDTO customerDTO, Long id, Long expectedVersion) {
+        long start = System.nanoTime();
+        try {
+            return delegate.patchCustomer(customerDTO, id, expectedVersion);
+        } catch (RuntimeException e) {
+            customerMetrics.recordError(e);
+            throw e;
+        } finally {
+            customerMetrics.recordService(Operation.PATCH, start);
+        }
+    }
+
+    @Override
+    public CustomerDTO deleteCustomer(Long id) {
+        long start = System.nanoTime();
+        try {
+            return delegate.deleteCustomer(id);
+        } catch (RuntimeException e) {
+            customerMetrics.recordError(e);
+            throw e;
+        } finally {
+            customerMetrics.recordService(Operation.DELETE, start);
+        }
+    }
+
+    @Override
+    public CustomerImportResponse importCustomers(InputStream inputStream) {
+        long start = System.nanoTime();
+        try {
+            return delegate.importCustomers(inputStream);
+        } catch (RuntimeException e) {
+            customerMetrics.recordError(e);
+            throw e;
+        } finally {
+            customerMetrics.recordService(Operation.IMPORT, start);
+        }
+    }
+
+    @Override
+    public void exportCustomers(String format, OutputStream outputStream) throws IOException {
+        long start = System.nanoTime();
+        try {
+            delegate.exportCustomers(format, outputStream);
+        } catch (IOException | RuntimeException e) {
+            customerMetrics.recordError(e);
+            throw e;
+        } finally {
+            customerMetrics.recordService(Operation.EXPORT, start);
+        }
+    }
+
+    @Override
+    public CacheStatsResponse getCacheStats() {
+        long start = System.nanoTime();
+        try {
+            return delegate.getCacheStats();
+        } catch (RuntimeException e) {
+            customerMetrics.recordError(e);
+            throw e;
+        } finally {
+            customerMetrics.recordService(Operation.CACHE_STATS, start);
+        }
+    }
+
+    @Override
+    public CustomerIdRange getCustomerIdRange() {
+        long start = System.nanoTime();
+        try {
+            return delegate.getCustomerIdRange();
+        } catch (RuntimeException e) {
+            customerMetrics.recordError(e);
+            throw e;
+        } finally {
+            customerMetrics.recordService(Operation.ID_RANGE, start);
+        }
+    }
+
+    @Override
+    public CustomerBulkChunk updateCustomersInRange(CustomerBulkRequest request, long afterId, long toId, int limit) {
+        long start = System.nanoTime();
+        try {
+            return delegate.updateCustomersInRange(request, afterId, toId, limit);
+        } catch (RuntimeException e) {
+            customerMetrics.recordError(e);
+            throw e;
+        } finally {
+            customerMetrics.recordService(Operation.BULK_UPDATE, start);
+        }
+    }
+
+    @Override
+    public CustomerBulkChunk deleteCustomersInRange(CustomerBulkRequest request, long afterId, long toId, int limit) {
+        long start = System.nanoTime();
+        try {
+            return delegate.deleteCustomersInRange(request, afterId, toId, limit);
+        } catch (RuntimeException e) {
+            customerMetrics.recordError(e);
+            throw e;
+        } finally {
+            customerMetrics.recordService(Operation.BULK_DELETE, start);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.bank.app.metrics;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.JacksonJsonHttpMessageConverter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * The Boot JSON converter with a timer around writing, so serialization shows up separately from service time.
+ * Being a bean it comes before the byte array converter, so it leaves byte[] bodies alone: those are JSON that is
+ * already encoded (cached pages, problem details) and would otherwise go out as a base64 string.
+ */
+public class TimedJacksonJsonHttpMessageConverter extends JacksonJsonHttpMessageConverter {
+
+    private final CustomerMetrics customerMetrics;
+
+    public TimedJacksonJsonHttpMessageConverter(JsonMapper jsonMapper, CustomerMetrics customerMetrics) {
+        super(jsonMapper);
+        this.customerMetrics = customerMetrics;
+    }
+
+    @Override
+    public boolean canWrite(ResolvableType targetType, Class<?> valueClass, MediaType mediaType) {
+        return valueClass != byte[].class && super.canWrite(targetType, valueClass, mediaType);
+    }
+
+    @Override
+    protected void writeInternal(Object object, ResolvableType resolvableType, HttpOutputMessage outputMessage,
+                                 Map<String, Object> hints) throws IOException {
+        long start = System.nanoTime();
+        try {
+            super.writeInternal(object, resolvableType, outputMessage, hints);
+        } finally {
+            customerMetrics.recordSerialization(start);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.bank.app.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CacheStatsResponse {
+    private Long hits;
+    private Long misses;
+    private Long evictions;
+    private Long size;
+    private Double hitRate;
+
+}
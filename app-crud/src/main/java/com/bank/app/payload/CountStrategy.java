@@ -0,0 +1,15 @@
+package com.bank.app.payload;
+
+/**
+ * How totalElements of a customer page was obtained.
+ */
+public enum CountStrategy {
+    /** COUNT(*) on every request. */
+    EXACT,
+    /** In-process counter adjusted on every create and delete. */
+    MAINTAINED,
+    /** COUNT(*) taken on a schedule; may lag recent writes. */
+    ESTIMATED,
+    /** No total at all, only whether another page follows. */
+    NONE
+}
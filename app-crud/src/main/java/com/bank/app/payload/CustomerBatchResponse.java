@@ -0,0 +1,16 @@
+package com.bank.app.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CustomerBatchResponse {
+    private List<CustomerDTO> content;
+    private List<Long> missingIds;
+
+}
@@ -0,0 +1,20 @@
+package com.bank.app.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One step of a bulk job through an id range: matched customers, how many of them were changed or deleted,
+ * the id to continue after, and whether the range is finished.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CustomerBulkChunk {
+    private Integer matched;
+    private Integer affected;
+    private Long lastId;
+    private boolean done;
+
+}
@@ -0,0 +1,37 @@
+package com.bank.app.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Progress of a bulk job. While it runs, and after it is cancelled or fails, checkpoint holds the id ranges
+ * still to do; sending it back with the same request resumes the job there.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CustomerBulkJobResponse {
+    private String jobId;
+    private Operation operation;
+    private Status status;
+    private Integer partitions;
+    private Integer partitionsDone;
+    private Long matched;
+    private Long affected;
+    private Long elapsedMillis;
+    private String checkpoint;
+    private String error;
+
+    public enum Operation {
+        UPDATE,
+        DELETE
+    }
+
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        CANCELLED,
+        FAILED
+    }
+}
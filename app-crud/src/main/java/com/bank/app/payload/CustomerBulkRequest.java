@@ -0,0 +1,25 @@
+package com.bank.app.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * A bulk update or delete: the customers with fromId <= id <= toId whose attributes equal every value in where
+ * (a null value matches a missing attribute). Updates write the values in set and, with normalizePhoneNumbers,
+ * strip phone numbers down to digits and '+'. A checkpoint from an earlier job resumes the ranges it had left.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CustomerBulkRequest {
+    private Long fromId;
+    private Long toId;
+    private Map<String, String> where;
+    private Map<String, String> set;
+    private boolean normalizePhoneNumbers;
+    private String checkpoint;
+
+}
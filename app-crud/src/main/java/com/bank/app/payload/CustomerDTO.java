@@ -1,5 +1,7 @@
 package com.bank.app.payload;
 
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -11,9 +13,15 @@ public class CustomerDTO {
     private Long id;
     private String firstName;
     private String lastName;
+    @NotBlank
+    @Email
     private String email;
     private String phoneNumber;
+    private Long version;
 
+    public CustomerDTO(Long id, String firstName, String lastName, String email, String phoneNumber) {
+        this(id, firstName, lastName, email, phoneNumber, null);
+    }
 
 
 }
@@ -0,0 +1,19 @@
+package com.bank.app.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CustomerFieldsResponse {
+    private List<Map<String, Object>> content;
+    private Integer pageNumber;
+    private Integer pageSize;
+    private String nextCursor;
+
+}
@@ -0,0 +1,17 @@
+package com.bank.app.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CustomerImportResponse {
+    private Integer created;
+    private Integer rejected;
+    private List<CustomerImportResult> results;
+
+}
@@ -0,0 +1,21 @@
+package com.bank.app.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CustomerImportResult {
+    private Integer row;
+    private Status status;
+    private Long id;
+    private String message;
+
+    public enum Status {
+        CREATED,
+        INVALID,
+        DUPLICATE
+    }
+}
@@ -14,5 +14,8 @@ public class CustomerResponse {
     private Integer pageNumber;
     private Integer pageSize;
     private Long totalElements;
+    private String nextCursor;
+    private CountStrategy countStrategy;
+    private Boolean hasNext;
 
 }
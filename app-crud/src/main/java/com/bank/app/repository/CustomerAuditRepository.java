@@ -0,0 +1,11 @@
+package com.bank.app.repository;
+
+import com.bank.app.CustomerAudit;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface CustomerAuditRepository extends JpaRepository<CustomerAudit, Long> {
+
+    List<CustomerAudit> findByCustomerIdOrderByIdAsc(Long customerId);
+}
@@ -1,11 +1,79 @@
 package com.bank.app.repository;
 
 import com.bank.app.Customer;
+import com.bank.app.payload.CustomerDTO;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
-public interface CustomerRepository extends JpaRepository<Customer, Long> {
 
+public interface CustomerRepository extends JpaRepository<Customer, Long>, CustomerRepositoryCustom {
 
-    Customer findByFirstName(String firstName);
+
+    boolean existsByEmail(String email);
+
+    @Query("select c.email from customers c where c.email in :emails")
+    Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    // Constructor expressions build DTOs straight from the row, so no managed entity or snapshot is created.
+    @Query(value = "select new com.bank.app.payload.CustomerDTO(c.id, c.firstName, c.lastName, c.email, c.phoneNumber, c.version)"
+            + " from customers c order by c.id",
+            countQuery = "select count(c) from customers c")
+    Page<CustomerDTO> findAllDtos(Pageable pageable);
+
+    // A Slice reads one row past the page to learn whether another follows, and never counts.
+    @Query("select new com.bank.app.payload.CustomerDTO(c.id, c.firstName, c.lastName, c.email, c.phoneNumber, c.version)"
+            + " from customers c order by c.id")
+    Slice<CustomerDTO> findDtoSlice(Pageable pageable);
+
+    @Query("select new com.bank.app.payload.CustomerDTO(c.id, c.firstName, c.lastName, c.email, c.phoneNumber, c.version)"
+            + " from customers c where c.id > :id order by c.id")
+    List<CustomerDTO> findDtosAfter(@Param("id") Long id, Limit limit);
+
+    @Query("select new com.bank.app.payload.CustomerDTO(c.id, c.firstName, c.lastName, c.email, c.phoneNumber, c.version)"
+            + " from customers c where c.id > :after and c.id <= :to order by c.id")
+    List<CustomerDTO> findDtosBetween(@Param("after") Long after, @Param("to") Long to, Limit limit);
+
+    @Query("select new com.bank.app.payload.CustomerDTO(c.id, c.firstName, c.lastName, c.email, c.phoneNumber, c.version)"
+            + " from customers c where c.id in :ids order by c.id")
+    List<CustomerDTO> findDtosByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Overwrites a customer in one statement, only if it is still at the expected version.
+     * Returns the number of rows changed: 0 means the customer is missing or was modified since.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update customers c set c.firstName = :firstName, c.lastName = :lastName, c.email = :email,"
+            + " c.phoneNumber = :phoneNumber, c.version = c.version + 1 where c.id = :id and c.version = :version")
+    int updateIfVersion(@Param("id") Long id, @Param("version") Long version, @Param("firstName") String firstName,
+                        @Param("lastName") String lastName, @Param("email") String email,
+                        @Param("phoneNumber") String phoneNumber);
+
+    @Query("select min(c.id) from customers c")
+    Long findMinId();
+
+    @Query("select max(c.id) from customers c")
+    Long findMaxId();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select c from customers c order by c.id")
+    Stream<Customer> streamAll();
 }
@@ -0,0 +1,40 @@
+package com.bank.app.repository;
+
+import com.bank.app.payload.CustomerDTO;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface CustomerRepositoryCustom {
+
+    /**
+     * Selects only the given Customer attributes, in id order, as one map per row.
+     * Pass afterId for a keyset page or offset for an offset page; either may be null.
+     */
+    List<Map<String, Object>> findFields(List<String> fields, Long afterId, Integer offset, int limit);
+
+    /**
+     * Sets only the given attributes and bumps the version in one statement.
+     * With a null expectedVersion the update is unconditional. Returns the number of rows changed.
+     */
+    int updateFields(Long id, Long expectedVersion, Map<String, Object> changes);
+
+    /**
+     * Customers with afterId < id <= toId whose attributes equal the values in where (null means IS NULL), in id order.
+     * With normalizePhoneNumbers only customers whose phone number would change under normalization are returned.
+     * The rows are locked for update until the surrounding transaction ends.
+     */
+    List<CustomerDTO> findDtosMatching(Map<String, Object> where, boolean normalizePhoneNumbers, long afterId, long toId, int limit);
+
+    /**
+     * Applies changes, and phone number normalization if asked, to those of ids that still match, bumping each
+     * version, in one UPDATE statement. Returns the number of rows changed.
+     */
+    int updateMatching(Collection<Long> ids, Map<String, Object> where, Map<String, Object> changes, boolean normalizePhoneNumbers);
+
+    /**
+     * Deletes those of ids that still match where in one DELETE statement. Returns the number of rows deleted.
+     */
+    int deleteMatching(Collection<Long> ids, Map<String, Object> where);
+}
@@ -0,0 +1,173 @@
+package com.bank.app.repository;
+
+import com.bank.app.Customer;
+import com.bank.app.payload.CustomerDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaDelete;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class CustomerRepositoryImpl implements CustomerRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Map<String, Object>> findFields(List<String> fields, Long afterId, Integer offset, int limit) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> criteriaQuery = criteriaBuilder.createTupleQuery();
+        Root<Customer> root = criteriaQuery.from(Customer.class);
+
+        List<Selection<?>> selections = new ArrayList<>(fields.size());
+        for (String field : fields) {
+            selections.add(root.get(field).alias(field));
+        }
+        criteriaQuery.select(criteriaBuilder.tuple(selections));
+        if (afterId != null) {
+            criteriaQuery.where(criteriaBuilder.gt(root.get("id"), afterId));
+        }
+        criteriaQuery.orderBy(criteriaBuilder.asc(root.get("id")));
+
+        TypedQuery<Tuple> query = entityManager.createQuery(criteriaQuery)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .setMaxResults(limit);
+        if (offset != null) {
+            query.setFirstResult(offset);
+        }
+
+        List<Tuple> tuples = query.getResultList();
+        List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            Map<String, Object> row = new LinkedHashMap<>(fields.size() * 2);
+            for (TupleElement<?> element : tuple.getElements()) {
+                row.put(element.getAlias(), tuple.get(element));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    @Override
+    @Transactional
+    public int updateFields(Long id, Long expectedVersion, Map<String, Object> changes) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Customer> criteriaUpdate = criteriaBuilder.createCriteriaUpdate(Customer.class);
+        Root<Customer> root = criteriaUpdate.from(Customer.class);
+
+        for (Map.Entry<String, Object> change : changes.entrySet()) {
+            criteriaUpdate.set(change.getKey(), change.getValue());
+        }
+        criteriaUpdate.set(root.<Long>get("version"), criteriaBuilder.sum(root.get("version"), 1L));
+
+        Predicate matches = criteriaBuilder.equal(root.get("id"), id);
+        if (expectedVersion != null) {
+            matches = criteriaBuilder.and(matches, criteriaBuilder.equal(root.get("version"), expectedVersion));
+        }
+        criteriaUpdate.where(matches);
+
+        int updated = entityManager.createQuery(criteriaUpdate).executeUpdate();
+        entityManager.clear();
+        return updated;
+    }
+
+    @Override
+    public List<CustomerDTO> findDtosMatching(Map<String, Object> where, boolean normalizePhoneNumbers, long afterId, long toId, int limit) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<CustomerDTO> criteriaQuery = criteriaBuilder.createQuery(CustomerDTO.class);
+        Root<Customer> root = criteriaQuery.from(Customer.class);
+
+        criteriaQuery.select(criteriaBuilder.construct(CustomerDTO.class, root.get("id"), root.get("firstName"),
+                root.get("lastName"), root.get("email"), root.get("phoneNumber"), root.get("version")));
+        List<Predicate> predicates = matching(criteriaBuilder, root, where, normalizePhoneNumbers);
+        predicates.add(criteriaBuilder.gt(root.get("id"), afterId));
+        predicates.add(criteriaBuilder.le(root.get("id"), toId));
+        criteriaQuery.where(predicates.toArray(Predicate[]::new));
+        criteriaQuery.orderBy(criteriaBuilder.asc(root.get("id")));
+
+        // Locking the rows keeps other writers off them until the chunk commits, so every row still matching when
+        // the update runs is changed by it, at the version read here.
+        return entityManager.createQuery(criteriaQuery)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    @Transactional
+    public int updateMatching(Collection<Long> ids, Map<String, Object> where, Map<String, Object> changes, boolean normalizePhoneNumbers) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Customer> criteriaUpdate = criteriaBuilder.createCriteriaUpdate(Customer.class);
+        Root<Customer> root = criteriaUpdate.from(Customer.class);
+
+        for (Map.Entry<String, Object> change : changes.entrySet()) {
+            criteriaUpdate.set(change.getKey(), change.getValue());
+        }
+        if (normalizePhoneNumbers) {
+            criteriaUpdate.set(root.<String>get("phoneNumber"), normalizedPhoneNumber(criteriaBuilder, root));
+        }
+        criteriaUpdate.set(root.<Long>get("version"), criteriaBuilder.sum(root.get("version"), 1L));
+
+        List<Predicate> predicates = matching(criteriaBuilder, root, where, normalizePhoneNumbers);
+        predicates.add(root.get("id").in(ids));
+        criteriaUpdate.where(predicates.toArray(Predicate[]::new));
+
+        int updated = entityManager.createQuery(criteriaUpdate).executeUpdate();
+        entityManager.clear();
+        return updated;
+    }
+
+    @Override
+    @Transactional
+    public int deleteMatching(Collection<Long> ids, Map<String, Object> where) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaDelete<Customer> criteriaDelete = criteriaBuilder.createCriteriaDelete(Customer.class);
+        Root<Customer> root = criteriaDelete.from(Customer.class);
+
+        List<Predicate> predicates = matching(criteriaBuilder, root, where, false);
+        predicates.add(root.get("id").in(ids));
+        criteriaDelete.where(predicates.toArray(Predicate[]::new));
+
+        int deleted = entityManager.createQuery(criteriaDelete).executeUpdate();
+        entityManager.clear();
+        return deleted;
+    }
+
+    private static List<Predicate> matching(CriteriaBuilder criteriaBuilder, Root<Customer> root, Map<String, Object> where,
+                                            boolean normalizePhoneNumbers) {
+        List<Predicate> predicates = new ArrayList<>(where.size() + 3);
+        for (Map.Entry<String, Object> condition : where.entrySet()) {
+            predicates.add(condition.getValue() == null
+                    ? criteriaBuilder.isNull(root.get(condition.getKey()))
+                    : criteriaBuilder.equal(root.get(condition.getKey()), condition.getValue()));
+        }
+        // Skipping numbers that are already normal keeps a rerun from rewriting, and re-versioning, every row.
+        if (normalizePhoneNumbers) {
+            predicates.add(criteriaBuilder.notEqual(root.get("phoneNumber"), normalizedPhoneNumber(criteriaBuilder, root)));
+        }
+        return predicates;
+    }
+
+    private static Expression<String> normalizedPhoneNumber(CriteriaBuilder criteriaBuilder, Root<Customer> root) {
+        return criteriaBuilder.function("regexp_replace", String.class, root.get("phoneNumber"),
+                criteriaBuilder.literal(Customer.PHONE_NUMBER_NOISE), criteriaBuilder.literal(""));
+    }
+}
@@ -0,0 +1,307 @@
+package com.bank.app.search;
+
+import com.bank.app.payload.CustomerDTO;
+import com.bank.app.repository.CustomerRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * In-process prefix index over customer names, email and phone number.
+ * Tokens live in a sorted map, so a prefix lookup is a range scan rather than a table scan.
+ * Tokenizing runs on the caller's thread; only applying the tokens is serialized, and searches read the
+ * concurrent structures without locking. An entry never goes back to an older version, so an out-of-order
+ * write or a rebuild page read before an update cannot bring back stale tokens.
+ */
+@Component
+public class CustomerSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(CustomerSearchIndex.class);
+
+    private static final int EXACT_SCORE = 2;
+    private static final int PREFIX_SCORE = 1;
+    private static final String WORD_SEPARATORS = "[^\\p{L}\\p{N}]+";
+
+    private final ConcurrentSkipListMap<String, Set<Long>> postings = new ConcurrentSkipListMap<>();
+    private final Map<Long, Indexed> indexedById = new ConcurrentHashMap<>();
+
+    // Ids removed while a rebuild runs, so a page read before the delete does not index them again.
+    private Set<Long> removedDuringRebuild;
+
+    // Absent with mapped storage, whose service indexes the store itself.
+    @Autowired(required = false)
+    private CustomerRepository customerRepository;
+
+    @Value("${app.search.max-candidates:10000}")
+    private int maxCandidates = 10000;
+
+    @Value("${app.search.rebuild-threads:0}")
+    private int rebuildThreads;
+
+    @Value("${app.search.rebuild-page-size:5000}")
+    private int rebuildPageSize = 5000;
+
+    public record Hits(List<Long> ids, long total) {
+    }
+
+    private record Indexed(Long version, Set<String> tokens) {
+    }
+
+    public void index(CustomerDTO customerDTO) {
+        apply(customerDTO, tokenize(customerDTO), false);
+    }
+
+    public synchronized void remove(Long id) {
+        if (removedDuringRebuild != null) {
+            removedDuringRebuild.add(id);
+        }
+        Indexed previous = indexedById.remove(id);
+        if (previous != null) {
+            for (String token : previous.tokens()) {
+                removePosting(token, id);
+            }
+        }
+    }
+
+    public int size() {
+        return indexedById.size();
+    }
+
+    /**
+     * Every query term must prefix-match some token of a customer. Exact token matches rank above
+     * prefix matches, and ties are broken by id. At most max-candidates customers are considered per term.
+     */
+    public Hits search(String query, int offset, int limit) {
+        List<String> terms = queryTerms(query);
+        if (terms.isEmpty()) {
+            return new Hits(List.of(), 0);
+        }
+
+        Map<Long, Integer> scores = null;
+        for (String term : terms) {
+            Map<Long, Integer> termScores = match(term);
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                Map<Long, Integer> combined = new HashMap<>(Math.min(scores.size(), termScores.size()) * 2);
+                for (Map.Entry<Long, Integer> entry : scores.entrySet()) {
+                    Integer termScore = termScores.get(entry.getKey());
+                    if (termScore != null) {
+                        combined.put(entry.getKey(), entry.getValue() + termScore);
+                    }
+                }
+                scores = combined;
+            }
+            if (scores.isEmpty()) {
+                return new Hits(List.of(), 0);
+            }
+        }
+
+        List<Map.Entry<Long, Integer>> ranked = new ArrayList<>(scores.entrySet());
+        ranked.sort(Map.Entry.<Long, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+
+        int from = Math.min(offset, ranked.size());
+        int to = Math.min(from + limit, ranked.size());
+        List<Long> ids = new ArrayList<>(to - from);
+        for (Map.Entry<Long, Integer> entry : ranked.subList(from, to)) {
+            ids.add(entry.getKey());
+        }
+        return new Hits(ids, ranked.size());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() throws Exception {
+        if (customerRepository == null) {
+            return;
+        }
+        Long minId = customerRepository.findMinId();
+        Long maxId = customerRepository.findMaxId();
+        if (minId == null) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        int threads = rebuildThreads > 0 ? rebuildThreads : Runtime.getRuntime().availableProcessors();
+        long span = Math.max(1, (maxId - minId + threads) / threads);
+
+        synchronized (this) {
+            removedDuringRebuild = new HashSet<>();
+        }
+        // Each worker walks its own id range by keyset, so the ranges load and tokenize in parallel.
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>(threads);
+            for (long from = minId - 1; from < maxId; from += span) {
+                long after = from;
+                long to = Math.min(from + span, maxId);
+                futures.add(executor.submit(() -> indexRange(after, to)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+            synchronized (this) {
+                removedDuringRebuild = null;
+            }
+        }
+        log.info("Indexed {} customers for search in {} ms", size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void indexRange(long after, long to) {
+        long lastId = after;
+        while (true) {
+            List<CustomerDTO> page = customerRepository.findDtosBetween(lastId, to, Limit.of(rebuildPageSize));
+            for (CustomerDTO customerDTO : page) {
+                apply(customerDTO, tokenize(customerDTO), true);
+            }
+            if (page.size() < rebuildPageSize) {
+                return;
+            }
+            lastId = page.get(page.size() - 1).getId();
+        }
+    }
+
+    private synchronized void apply(CustomerDTO customerDTO, Set<String> tokens, boolean fromRebuild) {
+        Long id = customerDTO.getId();
+        if (fromRebuild && removedDuringRebuild != null && removedDuringRebuild.contains(id)) {
+            return;
+        }
+        Indexed previous = indexedById.get(id);
+        if (previous != null && previous.version() != null && customerDTO.getVersion() != null
+                && previous.version() > customerDTO.getVersion()) {
+            return;
+        }
+
+        indexedById.put(id, new Indexed(customerDTO.getVersion(), tokens));
+        if (previous != null) {
+            for (String token : previous.tokens()) {
+                if (!tokens.contains(token)) {
+                    removePosting(token, id);
+                }
+            }
+        }
+        for (String token : tokens) {
+            postings.computeIfAbsent(token, key -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+    }
+
+    private Map<Long, Integer> match(String term) {
+        Map<Long, Integer> termScores = new HashMap<>();
+        String upperBound = term + Character.MAX_VALUE;
+        for (Map.Entry<String, Set<Long>> entry : postings.subMap(term, true, upperBound, false).entrySet()) {
+            int score = entry.getKey().length() == term.length() ? EXACT_SCORE : PREFIX_SCORE;
+            for (Long id : entry.getValue()) {
+                termScores.merge(id, score, Math::max);
+            }
+            if (termScores.size() >= maxCandidates) {
+                break;
+            }
+        }
+        return termScores;
+    }
+
+    private void removePosting(String token, Long id) {
+        Set<Long> ids = postings.get(token);
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                postings.remove(token, ids);
+            }
+        }
+    }
+
+    static Set<String> tokenize(CustomerDTO customerDTO) {
+        Set<String> tokens = new LinkedHashSet<>();
+        addWords(tokens, customerDTO.getFirstName());
+        addWords(tokens, customerDTO.getLastName());
+
+        String email = normalize(customerDTO.getEmail());
+        if (!email.isEmpty()) {
+            tokens.add(email);
+            addWords(tokens, email);
+        }
+
+        // Agents type phone numbers from the start or just the last four digits.
+        String phone = digits(customerDTO.getPhoneNumber());
+        if (!phone.isEmpty()) {
+            tokens.add(phone);
+            if (phone.length() > 4) {
+                tokens.add(phone.substring(phone.length() - 4));
+            }
+        }
+        return tokens;
+    }
+
+    static List<String> queryTerms(String query) {
+        if (query == null) {
+            return Collections.emptyList();
+        }
+        List<String> terms = new ArrayList<>();
+        for (String part : normalize(query).split("\\s+")) {
+            if (part.isEmpty()) {
+                continue;
+            }
+            // An email term stays whole and a phone-like term is reduced to its digits. Any other term is split
+            // like indexed values, so "o'brien" or "mary-jane" finds the words the name was indexed under.
+            if (part.indexOf('@') >= 0) {
+                terms.add(part);
+            } else if (part.chars().anyMatch(Character::isDigit) && part.chars().noneMatch(Character::isLetter)) {
+                terms.add(digits(part));
+            } else {
+                for (String word : part.split(WORD_SEPARATORS)) {
+                    if (!word.isEmpty()) {
+                        terms.add(word);
+                    }
+                }
+            }
+        }
+        return terms;
+    }
+
+    private static void addWords(Set<String> tokens, String value) {
+        for (String word : normalize(value).split(WORD_SEPARATORS)) {
+            if (!word.isEmpty()) {
+                tokens.add(word);
+            }
+        }
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String digits(String value) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder digits = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (Character.isDigit(c)) {
+                digits.append(c);
+            }
+        }
+        return digits.toString();
+    }
+}
@@ -0,0 +1,103 @@
+package com.bank.app.service;
+
+import com.bank.app.Customer;
+import com.bank.app.exceptions.CustomerStatusException;
+import com.bank.app.payload.CustomerBulkJobResponse;
+import com.bank.app.payload.CustomerBulkRequest;
+import com.bank.app.payload.CustomerDTO;
+import org.springframework.http.HttpStatus;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The filter and changes of a {@link CustomerBulkRequest}, checked against the attributes a bulk job may touch.
+ */
+public final class CustomerBulkFields {
+
+    private static final Set<String> BULK_FIELDS = Set.of("firstName", "lastName", "email", "phoneNumber");
+
+    private CustomerBulkFields() {
+    }
+
+    public static void check(CustomerBulkRequest request, CustomerBulkJobResponse.Operation operation) {
+        Map<String, Object> where = where(request);
+        Map<String, Object> changes = changes(request);
+        if (operation == CustomerBulkJobResponse.Operation.DELETE) {
+            if (!changes.isEmpty() || request.isNormalizePhoneNumbers()) {
+                throw new CustomerStatusException(HttpStatus.BAD_REQUEST, "A bulk delete takes no set or normalizePhoneNumbers");
+            }
+            // Deleting every customer takes an explicit range, never an empty body.
+            if (where.isEmpty() && request.getFromId() == null && request.getToId() == null && request.getCheckpoint() == null) {
+                throw new CustomerStatusException(HttpStatus.BAD_REQUEST, "A bulk delete needs where, fromId or toId");
+            }
+            return;
+        }
+        if (changes.isEmpty() && !request.isNormalizePhoneNumbers()) {
+            throw new CustomerStatusException(HttpStatus.BAD_REQUEST, "No fields to update");
+        }
+        if (changes.containsKey("phoneNumber") && request.isNormalizePhoneNumbers()) {
+            throw new CustomerStatusException(HttpStatus.BAD_REQUEST, "Either set phoneNumber or normalize it, not both");
+        }
+    }
+
+    static Map<String, Object> where(CustomerBulkRequest request) {
+        Map<String, Object> where = new LinkedHashMap<>();
+        if (request.getWhere() != null) {
+            request.getWhere().forEach((field, value) -> where.put(checked(field, "where"),
+                    "email".equals(field) ? Customer.normalizeEmail(value) : value));
+        }
+        return where;
+    }
+
+    static Map<String, Object> changes(CustomerBulkRequest request) {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        if (request.getSet() != null) {
+            request.getSet().forEach((field, value) -> {
+                // One email for many customers would break the unique index.
+                if ("email".equals(checked(field, "set"))) {
+                    throw new CustomerStatusException(HttpStatus.BAD_REQUEST, "email cannot be set in bulk");
+                }
+                changes.put(field, value);
+            });
+        }
+        return changes;
+    }
+
+    static boolean matches(CustomerDTO customerDTO, Map<String, Object> where, boolean normalizePhoneNumbers) {
+        for (Map.Entry<String, Object> condition : where.entrySet()) {
+            if (!Objects.equals(get(customerDTO, condition.getKey()), condition.getValue())) {
+                return false;
+            }
+        }
+        return !normalizePhoneNumbers || (customerDTO.getPhoneNumber() != null
+                && !customerDTO.getPhoneNumber().equals(Customer.normalizePhoneNumber(customerDTO.getPhoneNumber())));
+    }
+
+    static CustomerDTO apply(CustomerDTO customerDTO, Map<String, Object> changes, boolean normalizePhoneNumbers) {
+        String phoneNumber = (String) changes.getOrDefault("phoneNumber", customerDTO.getPhoneNumber());
+        return new CustomerDTO(customerDTO.getId(),
+                (String) changes.getOrDefault("firstName", customerDTO.getFirstName()),
+                (String) changes.getOrDefault("lastName", customerDTO.getLastName()),
+                customerDTO.getEmail(),
+                normalizePhoneNumbers ? Customer.normalizePhoneNumber(phoneNumber) : phoneNumber);
+    }
+
+    private static Object get(CustomerDTO customerDTO, String field) {
+        return switch (field) {
+            case "firstName" -> customerDTO.getFirstName();
+            case "lastName" -> customerDTO.getLastName();
+            case "email" -> customerDTO.getEmail();
+            default -> customerDTO.getPhoneNumber();
+        };
+    }
+
+    private static String checked(String field, String clause) {
+        if (!BULK_FIELDS.contains(field)) {
+            throw new CustomerStatusException(HttpStatus.BAD_REQUEST, "Unknown field in " + clause + ": " + field);
+        }
+        return field;
+    }
+}
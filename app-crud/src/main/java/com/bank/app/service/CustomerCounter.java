@@ -0,0 +1,91 @@
+package com.bank.app.service;
+
+import com.bank.app.repository.CustomerRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Customer totals for paged listings without a COUNT(*) per request.
+ * The maintained count is seeded once and then adjusted by this instance's own creates and deletes,
+ * so writes from other instances or straight to the database are only picked up by the estimate.
+ */
+@Component
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "jpa", matchIfMissing = true)
+public class CustomerCounter {
+
+    private static final Logger log = LoggerFactory.getLogger(CustomerCounter.class);
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Value("${app.list.count-refresh:30s}")
+    private Duration refreshInterval = Duration.ofSeconds(30);
+
+    private final AtomicLong maintained = new AtomicLong(-1);
+    private volatile long estimated = -1;
+    private ScheduledExecutorService refresher;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        long count = customerRepository.count();
+        maintained.compareAndSet(-1, count);
+        estimated = count;
+        refresher = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("customer-count-refresh").daemon().factory());
+        refresher.scheduleWithFixedDelay(this::refresh, refreshInterval.toMillis(), refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public long maintained() {
+        long count = maintained.get();
+        if (count < 0) {
+            count = customerRepository.count();
+            maintained.compareAndSet(-1, count);
+        }
+        return count;
+    }
+
+    public long estimated() {
+        long count = estimated;
+        if (count < 0) {
+            count = customerRepository.count();
+            estimated = count;
+        }
+        return count;
+    }
+
+    public void added(long customers) {
+        maintained.getAndUpdate(count -> count < 0 ? count : count + customers);
+    }
+
+    public void removed(long customers) {
+        maintained.getAndUpdate(count -> count < 0 ? count : Math.max(0, count - customers));
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+        }
+    }
+
+    private void refresh() {
+        try {
+            estimated = customerRepository.count();
+        } catch (RuntimeException e) {
+            // Keep the last estimate; an exception here would also cancel every later refresh.
+            log.warn("Refreshing the customer count estimate failed", e);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.bank.app.service;
+
+import com.bank.app.exceptions.CustomerStatusException;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor for walking customers in id order.
+ * The token is the sort key and the last seen id, base64url encoded, e.g. "id:42".
+ */
+final class CustomerCursor {
+
+    static final String SORT_KEY = "id";
+
+    private CustomerCursor() {
+    }
+
+    static String encode(Long lastId) {
+        String raw = SORT_KEY + ":" + lastId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Long decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            if (separator < 0 || !SORT_KEY.equals(raw.substring(0, separator))) {
+                throw new CustomerStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+            }
+            return Long.valueOf(raw.substring(separator + 1));
+        } catch (IllegalArgumentException e) {
+            throw new CustomerStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+}
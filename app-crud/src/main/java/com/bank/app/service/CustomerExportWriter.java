@@ -0,0 +1,78 @@
+package com.bank.app.service;
+
+import com.bank.app.payload.CustomerDTO;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.SequenceWriter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+
+/**
+ * Writes customers to an export stream as NDJSON or CSV, one row at a time.
+ */
+final class CustomerExportWriter {
+
+    // Flush the first row right away so the client sees bytes immediately, then once per fetch.
+    private static final int EXPORT_FLUSH_ROWS = 500;
+
+    private CustomerExportWriter() {
+    }
+
+    static void write(String format, ObjectMapper objectMapper, Iterator<CustomerDTO> customers, OutputStream outputStream) throws IOException {
+        if ("csv".equalsIgnoreCase(format)) {
+            writeCsv(customers, outputStream);
+        } else {
+            writeNdjson(objectMapper, customers, outputStream);
+        }
+    }
+
+    private static void writeNdjson(ObjectMapper objectMapper, Iterator<CustomerDTO> customers, OutputStream outputStream) throws IOException {
+        SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(outputStream);
+        int written = 0;
+        while (customers.hasNext()) {
+            writer.write(customers.next());
+            if (++written % EXPORT_FLUSH_ROWS == 1) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+    }
+
+    private static void writeCsv(Iterator<CustomerDTO> customers, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        writer.write("id,firstName,lastName,email,phoneNumber\n");
+        int written = 0;
+        while (customers.hasNext()) {
+            CustomerDTO customerDTO = customers.next();
+            writer.write(String.valueOf(customerDTO.getId()));
+            writer.write(',');
+            writer.write(csvField(customerDTO.getFirstName()));
+            writer.write(',');
+            writer.write(csvField(customerDTO.getLastName()));
+            writer.write(',');
+            writer.write(csvField(customerDTO.getEmail()));
+            writer.write(',');
+            writer.write(csvField(customerDTO.getPhoneNumber()));
+            writer.write('\n');
+            if (++written % EXPORT_FLUSH_ROWS == 1) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
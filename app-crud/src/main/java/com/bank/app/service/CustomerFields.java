@@ -0,0 +1,54 @@
+package com.bank.app.service;
+
+import com.bank.app.exceptions.CustomerStatusException;
+import com.bank.app.payload.CustomerDTO;
+import org.springframework.http.HttpStatus;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The customer attributes a caller may pick with fields=, checked and put in response order.
+ */
+final class CustomerFields {
+
+    private static final Set<String> SELECTABLE_FIELDS = Set.of("id", "firstName", "lastName", "email", "phoneNumber");
+
+    private CustomerFields() {
+    }
+
+    static List<String> select(List<String> fields) {
+        // The id always leads, since the cursor is built from it.
+        Set<String> selectedFields = new LinkedHashSet<>();
+        selectedFields.add("id");
+        for (String field : fields) {
+            String trimmed = field.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            if (!SELECTABLE_FIELDS.contains(trimmed)) {
+                throw new CustomerStatusException(HttpStatus.BAD_REQUEST, "Unknown field: " + trimmed);
+            }
+            selectedFields.add(trimmed);
+        }
+        return new ArrayList<>(selectedFields);
+    }
+
+    static Map<String, Object> project(CustomerDTO customerDTO, List<String> selectedFields) {
+        Map<String, Object> row = new LinkedHashMap<>(selectedFields.size() * 2);
+        for (String field : selectedFields) {
+            row.put(field, switch (field) {
+                case "id" -> customerDTO.getId();
+                case "firstName" -> customerDTO.getFirstName();
+                case "lastName" -> customerDTO.getLastName();
+                case "email" -> customerDTO.getEmail();
+                default -> customerDTO.getPhoneNumber();
+            });
+        }
+        return row;
+    }
+}
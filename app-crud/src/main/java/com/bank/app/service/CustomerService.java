@@ -1,15 +1,37 @@
 package com.bank.app.service;
 
 import com.bank.app.Customer;
+import com.bank.app.payload.CacheStatsResponse;
+import com.bank.app.payload.CountStrategy;
+import com.bank.app.payload.CustomerBatchResponse;
+import com.bank.app.payload.CustomerBulkChunk;
+import com.bank.app.payload.CustomerBulkRequest;
 import com.bank.app.payload.CustomerDTO;
+import com.bank.app.payload.CustomerFieldsResponse;
+import com.bank.app.payload.CustomerIdRange;
+import com.bank.app.payload.CustomerImportResponse;
 import com.bank.app.payload.CustomerResponse;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 
 public interface CustomerService {
     CustomerDTO createCustomer(CustomerDTO customerDTO);
-    CustomerResponse getAllCustomers(Integer page, Integer size);
+    CustomerResponse getAllCustomers(Integer page, Integer size, CountStrategy countStrategy);
+    CustomerResponse getCustomersAfter(String after, Integer size, boolean includeTotal);
+    CustomerFieldsResponse getCustomerFields(List<String> fields, Integer page, String after, Integer size);
     CustomerDTO getCustomerById(Long id);
-    CustomerDTO updateCustomer(CustomerDTO customerDTO, Long id);
+    CustomerBatchResponse getCustomersByIds(List<Long> ids);
+    CustomerResponse searchCustomers(String query, Integer page, Integer size);
+    CustomerDTO updateCustomer(CustomerDTO customerDTO, Long id, Long expectedVersion);
+    CustomerDTO patchCustomer(CustomerDTO customerDTO, Long id, Long expectedVersion);
     CustomerDTO deleteCustomer(Long id);
+    CustomerImportResponse importCustomers(InputStream inputStream);
+    void exportCustomers(String format, OutputStream outputStream) throws IOException;
+    CacheStatsResponse getCacheStats();
+    CustomerIdRange getCustomerIdRange();
+    CustomerBulkChunk updateCustomersInRange(CustomerBulkRequest request, long afterId, long toId, int limit);
+    CustomerBulkChunk deleteCustomersInRange(CustomerBulkRequest request, long afterId, long toId, int limit);
 }
@@ -1,89 +1,421 @@
 package com.bank.app.service;
 
 import com.bank.app.Customer;
+import com.bank.app.CustomerAudit;
+import com.bank.app.audit.CustomerAuditLog;
+import com.bank.app.cache.CustomerCache;
+import com.bank.app.cache.CustomerPageCache;
+import com.bank.app.cache.SingleFlight;
+import com.bank.app.exceptions.CustomerStatusException;
 import com.bank.app.exceptions.ResourceNotFoundException;
+import com.bank.app.mapper.CustomerMapper;
+import com.bank.app.metrics.CustomerMetrics;
+import com.bank.app.payload.CacheStatsResponse;
+import com.bank.app.payload.CountStrategy;
+import com.bank.app.payload.CustomerBatchResponse;
+import com.bank.app.payload.CustomerBulkChunk;
+import com.bank.app.payload.CustomerBulkRequest;
 import com.bank.app.payload.CustomerDTO;
+import com.bank.app.payload.CustomerFieldsResponse;
+import com.bank.app.payload.CustomerIdRange;
+import com.bank.app.payload.CustomerImportResponse;
+import com.bank.app.payload.CustomerImportResult;
 import com.bank.app.payload.CustomerResponse;
 import com.bank.app.repository.CustomerRepository;
-import org.modelmapper.ModelMapper;
+import com.bank.app.search.CustomerSearchIndex;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.databind.ObjectMapper;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.stream.Stream;
 
 @Service
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "jpa", matchIfMissing = true)
 public class CustomerServiceImp implements CustomerService {
 
     @Autowired
     private CustomerRepository customerRepository;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private CustomerMapper customerMapper;
+
+    @Autowired
+    private CustomerCache customerCache;
+
+    @Autowired
+    private CustomerSearchIndex customerSearchIndex;
+
+    @Autowired
+    private CustomerPageCache customerPageCache;
+
+    @Autowired
+    private CustomerAuditLog customerAuditLog;
+
+    @Autowired
+    private CustomerCounter customerCounter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.import.chunk-size:1000}")
+    private int importChunkSize;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int importFlushSize;
+
+    @Value("${app.batch.chunk-size:500}")
+    private int batchChunkSize = 500;
+
+    @Value("${app.list.count-strategy:exact}")
+    private CountStrategy defaultCountStrategy = CountStrategy.EXACT;
+
+    @Autowired
+    private CustomerMetrics customerMetrics;
+
+    // Concurrent reads of the same customer or page share one query; see SingleFlight.
+    private final SingleFlight<Long, CustomerDTO> customerLoads = new SingleFlight<>();
+    private final SingleFlight<PageKey, CustomerResponse> pageLoads = new SingleFlight<>();
+
+    // The page cache generation moves on with every write, so callers after a write never join an older load.
+    private record PageKey(int page, int size, CountStrategy countStrategy, long generation) {
+    }
+
+    @PostConstruct
+    public void registerMetrics() {
+        customerMetrics.registerSingleFlight("customer", customerLoads);
+        customerMetrics.registerSingleFlight("page", pageLoads);
+    }
 
     @Override
     public CustomerDTO createCustomer(CustomerDTO customerDTO) {
-        Customer customer = modelMapper.map(customerDTO, Customer.class);
-        Customer customerFromDB = customerRepository.findByFirstName(customer.getFirstName());
-        if (customerFromDB != null) {
-            throw new ResponseStatusException(HttpStatus.CONFLICT, "Customer already exists");
-        }
+        Customer customer = customerMapper.toEntity(customerDTO);
+        customer.setId(null);
+        customer.setVersion(null);
 
-        Customer savedCustomer = customerRepository.save(customer);
-        return modelMapper.map(savedCustomer, CustomerDTO.class);
+        // The unique index on email decides duplicates, so there is no read before the insert.
+        Customer savedCustomer = saveUnique(customer);
+        CustomerDTO savedCustomerDTO = customerMapper.toDto(savedCustomer);
+        customerCache.put(savedCustomerDTO);
+        customerSearchIndex.index(savedCustomerDTO);
+        customerPageCache.invalidate();
+        customerAuditLog.record(CustomerAudit.Action.CREATE, savedCustomerDTO);
+        customerCounter.added(1);
+        return savedCustomerDTO;
     }
 
     @Override
-    public CustomerResponse getAllCustomers(Integer page, Integer size){
-        Pageable pageable = PageRequest.of(page, size);
-        Page<Customer> customerPage = customerRepository.findAll(pageable);
+    public CustomerResponse getAllCustomers(Integer page, Integer size, CountStrategy countStrategy) {
+        CountStrategy strategy = countStrategy != null ? countStrategy : defaultCountStrategy;
+        PageKey key = new PageKey(page, size, strategy, customerPageCache.generation());
+        return pageLoads.execute(key, () -> loadPage(page, size, strategy));
+    }
 
-        List<Customer> customers = customerPage.getContent();
+    private CustomerResponse loadPage(int page, int size, CountStrategy strategy) {
+        Pageable pageable = PageRequest.of(page, size);
 
-        if (customers.isEmpty()) {
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Customer not found");
+        Slice<CustomerDTO> customerSlice;
+        Long totalElements;
+        if (strategy == CountStrategy.EXACT) {
+            Page<CustomerDTO> customerPage = customerRepository.findAllDtos(pageable);
+            customerSlice = customerPage;
+            totalElements = customerPage.getTotalElements();
+        } else {
+            customerSlice = customerRepository.findDtoSlice(pageable);
+            totalElements = switch (strategy) {
+                case MAINTAINED -> customerCounter.maintained();
+                case ESTIMATED -> customerCounter.estimated();
+                default -> null;
+            };
         }
 
-        List<CustomerDTO> customerDTOS = customers.stream()
-                .map(customer -> modelMapper.map(customer, CustomerDTO.class)).toList();
+        List<CustomerDTO> customerDTOS = customerSlice.getContent();
+
+        if (customerDTOS.isEmpty()) {
+            throw new CustomerStatusException(HttpStatus.NOT_FOUND, "Customer not found");
+        }
 
         CustomerResponse customerResponse = new CustomerResponse();
         customerResponse.setContent(customerDTOS);
         customerResponse.setPageNumber(page);
         customerResponse.setPageSize(size);
-        customerResponse.setTotalElements(customerPage.getTotalElements());
+        customerResponse.setTotalElements(totalElements);
+        customerResponse.setCountStrategy(strategy);
+        customerResponse.setHasNext(customerSlice.hasNext());
 
         return customerResponse;
     }
 
+    @Override
+    public CustomerResponse getCustomersAfter(String after, Integer size, boolean includeTotal) {
+        Long lastId = after == null || after.isBlank() ? Long.MIN_VALUE : CustomerCursor.decode(after);
+
+        // Fetch one extra row to learn whether another page exists without counting.
+        List<CustomerDTO> customerDTOS = customerRepository.findDtosAfter(lastId, Limit.of(size + 1));
+        boolean hasNext = customerDTOS.size() > size;
+        if (hasNext) {
+            customerDTOS = customerDTOS.subList(0, size);
+        }
+
+        CustomerResponse customerResponse = new CustomerResponse();
+        customerResponse.setContent(customerDTOS);
+        customerResponse.setPageSize(size);
+        if (includeTotal) {
+            customerResponse.setTotalElements(customerRepository.count());
+        }
+        customerResponse.setCountStrategy(includeTotal ? CountStrategy.EXACT : CountStrategy.NONE);
+        customerResponse.setHasNext(hasNext);
+        if (hasNext) {
+            customerResponse.setNextCursor(CustomerCursor.encode(customerDTOS.get(customerDTOS.size() - 1).getId()));
+        }
+
+        return customerResponse;
+    }
+
+    @Override
+    public CustomerFieldsResponse getCustomerFields(List<String> fields, Integer page, String after, Integer size) {
+        List<String> selectedFields = CustomerFields.select(fields);
+
+        // Same paging rules as the full listing: an explicit page number means OFFSET, otherwise walk by cursor.
+        List<Map<String, Object>> rows;
+        boolean hasNext;
+        if (page != null) {
+            rows = customerRepository.findFields(selectedFields, null, page * size, size);
+            hasNext = false;
+        } else {
+            Long lastId = after == null || after.isBlank() ? Long.MIN_VALUE : CustomerCursor.decode(after);
+            rows = customerRepository.findFields(selectedFields, lastId, null, size + 1);
+            hasNext = rows.size() > size;
+            if (hasNext) {
+                rows = rows.subList(0, size);
+            }
+        }
+
+        CustomerFieldsResponse fieldsResponse = new CustomerFieldsResponse();
+        fieldsResponse.setContent(rows);
+        fieldsResponse.setPageNumber(page);
+        fieldsResponse.setPageSize(size);
+        if (hasNext) {
+            fieldsResponse.setNextCursor(CustomerCursor.encode((Long) rows.get(rows.size() - 1).get("id")));
+        }
+        return fieldsResponse;
+    }
+
     @Override
     public CustomerDTO getCustomerById(Long id) {
+        CustomerDTO cachedCustomer = customerCache.get(id);
+        if (cachedCustomer != null) {
+            return cachedCustomer;
+        }
+        return customerLoads.execute(id, () -> loadCustomer(id));
+    }
+
+    private CustomerDTO loadCustomer(Long id) {
         Customer customer = customerRepository.findById(id).orElse(null);
         if (customer == null) {
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Customer not found");
+            throw new CustomerStatusException(HttpStatus.NOT_FOUND, "Customer not found");
         }
 
-        return modelMapper.map(customer, CustomerDTO.class);
+        CustomerDTO customerDTO = customerMapper.toDto(customer);
+        customerCache.put(customerDTO);
+        return customerDTO;
     }
 
     @Override
-    public CustomerDTO updateCustomer(CustomerDTO customerDTO, Long id) {
-        Customer customerFromDB = customerRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Customer", "customerId", id));
-        customerFromDB.setFirstName(customerDTO.getFirstName());
-        customerFromDB.setLastName(customerDTO.getLastName());
-        customerFromDB.setEmail(customerDTO.getEmail());
-        customerFromDB.setPhoneNumber(customerDTO.getPhoneNumber());
-        customerFromDB = customerRepository.save(customerFromDB);
+    public CustomerBatchResponse getCustomersByIds(List<Long> ids) {
+        Set<Long> requestedIds = new LinkedHashSet<>(ids);
+        Map<Long, CustomerDTO> found = new HashMap<>(requestedIds.size() * 2);
+        List<Long> uncached = new ArrayList<>();
+        for (Long id : requestedIds) {
+            CustomerDTO cachedCustomer = customerCache.get(id);
+            if (cachedCustomer != null) {
+                found.put(id, cachedCustomer);
+            } else {
+                uncached.add(id);
+            }
+        }
+
+        // Keep each IN list bounded so the statement stays cacheable and within driver limits.
+        for (int from = 0; from < uncached.size(); from += batchChunkSize) {
+            List<Long> chunk = uncached.subList(from, Math.min(from + batchChunkSize, uncached.size()));
+            for (CustomerDTO customerDTO : customerMapper.toDtoList(customerRepository.findAllById(chunk))) {
+                found.put(customerDTO.getId(), customerDTO);
+                customerCache.put(customerDTO);
+            }
+        }
+
+        List<CustomerDTO> content = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : requestedIds) {
+            CustomerDTO customerDTO = found.get(id);
+            if (customerDTO != null) {
+                content.add(customerDTO);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new CustomerBatchResponse(content, missingIds);
+    }
+
+    @Override
+    public CustomerResponse searchCustomers(String query, Integer page, Integer size) {
+        if (query == null || query.isBlank()) {
+            throw new CustomerStatusException(HttpStatus.BAD_REQUEST, "Search query must not be blank");
+        }
+
+        CustomerSearchIndex.Hits hits = customerSearchIndex.search(query, page * size, size);
+
+        CustomerResponse customerResponse = new CustomerResponse();
+        customerResponse.setContent(hits.ids().isEmpty() ? List.of() : getCustomersByIds(hits.ids()).getContent());
+        customerResponse.setPageNumber(page);
+        customerResponse.setPageSize(size);
+        customerResponse.setTotalElements(hits.total());
+        return customerResponse;
+    }
+
+    @Override
+    public CustomerDTO updateCustomer(CustomerDTO customerDTO, Long id, Long expectedVersion) {
+        if (expectedVersion == null) {
+            Customer customerFromDB = customerRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Customer", "customerId", id));
+            customerFromDB.setFirstName(customerDTO.getFirstName());
+            customerFromDB.setLastName(customerDTO.getLastName());
+            customerFromDB.setEmail(customerDTO.getEmail());
+            customerFromDB.setPhoneNumber(customerDTO.getPhoneNumber());
+            customerFromDB = saveUnique(customerFromDB);
+
+            CustomerDTO savedCustomerDTO = customerMapper.toDto(customerFromDB);
+            customerCache.put(savedCustomerDTO);
+            customerLoads.forget(savedCustomerDTO.getId());
+            customerSearchIndex.index(savedCustomerDTO);
+            customerPageCache.invalidate();
+            customerAuditLog.record(CustomerAudit.Action.UPDATE, savedCustomerDTO);
+            return savedCustomerDTO;
+        }
+
+        // The caller knows the version it read, so the version check and the write are one statement.
+        String email = Customer.normalizeEmail(customerDTO.getEmail());
+        int updated;
+        try {
+            updated = customerRepository.updateIfVersion(id, expectedVersion, customerDTO.getFirstName(),
+                    customerDTO.getLastName(), email, customerDTO.getPhoneNumber());
+        } catch (DataIntegrityViolationException e) {
+            throw duplicateOr(e, email);
+        }
+        if (updated == 0) {
+            throw versionMismatch(id);
+        }
 
+        CustomerDTO savedCustomerDTO = new CustomerDTO(id, customerDTO.getFirstName(), customerDTO.getLastName(),
+                email, customerDTO.getPhoneNumber(), expectedVersion + 1);
+        customerCache.put(savedCustomerDTO);
+        customerLoads.forget(savedCustomerDTO.getId());
+        customerSearchIndex.index(savedCustomerDTO);
+        customerPageCache.invalidate();
+        customerAuditLog.record(CustomerAudit.Action.UPDATE, savedCustomerDTO);
+        return savedCustomerDTO;
+    }
+
+    @Override
+    public CustomerDTO patchCustomer(CustomerDTO customerDTO, Long id, Long expectedVersion) {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        if (customerDTO.getFirstName() != null) {
+            changes.put("firstName", customerDTO.getFirstName());
+        }
+        if (customerDTO.getLastName() != null) {
+            changes.put("lastName", customerDTO.getLastName());
+        }
+        String email = Customer.normalizeEmail(customerDTO.getEmail());
+        if (email != null) {
+            Set<ConstraintViolation<CustomerDTO>> violations = validator.validateValue(CustomerDTO.class, "email", email);
+            if (!violations.isEmpty()) {
+                throw new CustomerStatusException(HttpStatus.BAD_REQUEST, "email: " + violations.iterator().next().getMessage());
+            }
+            changes.put("email", email);
+        }
+        if (customerDTO.getPhoneNumber() != null) {
+            changes.put("phoneNumber", customerDTO.getPhoneNumber());
+        }
+        if (changes.isEmpty()) {
+            throw new CustomerStatusException(HttpStatus.BAD_REQUEST, "No fields to update");
+        }
 
+        int updated;
+        try {
+            updated = customerRepository.updateFields(id, expectedVersion, changes);
+        } catch (DataIntegrityViolationException e) {
+            throw duplicateOr(e, email);
+        }
+        if (updated == 0) {
+            if (expectedVersion == null) {
+                throw new ResourceNotFoundException("Customer", "customerId", id);
+            }
+            throw versionMismatch(id);
+        }
 
-        return modelMapper.map(customerFromDB, CustomerDTO.class);
+        // A cached copy at the expected version plus the changes is exactly the new row, so skip the reload.
+        CustomerDTO cachedCustomer = expectedVersion == null ? null : customerCache.get(id);
+        CustomerDTO savedCustomerDTO;
+        if (cachedCustomer != null && expectedVersion.equals(cachedCustomer.getVersion())) {
+            savedCustomerDTO = new CustomerDTO(id,
+                    (String) changes.getOrDefault("firstName", cachedCustomer.getFirstName()),
+                    (String) changes.getOrDefault("lastName", cachedCustomer.getLastName()),
+                    (String) changes.getOrDefault("email", cachedCustomer.getEmail()),
+                    (String) changes.getOrDefault("phoneNumber", cachedCustomer.getPhoneNumber()),
+                    expectedVersion + 1);
+        } else {
+            savedCustomerDTO = customerMapper.toDto(customerRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Customer", "customerId", id)));
+        }
+        customerCache.put(savedCustomerDTO);
+        customerLoads.forget(savedCustomerDTO.getId());
+        customerSearchIndex.index(savedCustomerDTO);
+        customerPageCache.invalidate();
+        customerAuditLog.record(CustomerAudit.Action.UPDATE, savedCustomerDTO);
+        return savedCustomerDTO;
     }
 
     @Override
@@ -91,8 +423,270 @@ public class CustomerServiceImp implements CustomerService {
         Customer savedCustomer = customerRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Customer", "customerId", id));
         customerRepository.delete(savedCustomer);
+        customerCache.evict(id);
+        customerLoads.forget(id);
+        customerSearchIndex.remove(id);
+        customerPageCache.invalidate();
+
+        CustomerDTO deletedCustomerDTO = customerMapper.toDto(savedCustomer);
+        customerAuditLog.record(CustomerAudit.Action.DELETE, deletedCustomerDTO);
+        customerCounter.removed(1);
+        return deletedCustomerDTO;
+    }
+
+    @Override
+    public CustomerImportResponse importCustomers(InputStream inputStream) {
+        List<CustomerImportResult> results = new ArrayList<>();
+        List<CustomerDTO> chunk = new ArrayList<>(importChunkSize);
+        int row = 0;
+
+        // readValues accepts both a top-level JSON array and newline-delimited objects.
+        try (MappingIterator<CustomerDTO> iterator = objectMapper.readerFor(CustomerDTO.class).readValues(inputStream)) {
+            while (iterator.hasNextValue()) {
+                chunk.add(iterator.nextValue());
+                if (chunk.size() == importChunkSize) {
+                    importChunk(chunk, row, results);
+                    row += chunk.size();
+                    chunk.clear();
+                }
+            }
+        } catch (JacksonException e) {
+            importChunk(chunk, row, results);
+            row += chunk.size();
+            chunk.clear();
+            results.add(new CustomerImportResult(row, CustomerImportResult.Status.INVALID, null,
+                    "Malformed JSON, import stopped: " + e.getOriginalMessage()));
+        }
+        importChunk(chunk, row, results);
+
+        int created = 0;
+        for (CustomerImportResult result : results) {
+            if (result.getStatus() == CustomerImportResult.Status.CREATED) {
+                created++;
+            }
+        }
+        return new CustomerImportResponse(created, results.size() - created, results);
+    }
+
+    private void importChunk(List<CustomerDTO> chunk, int firstRow, List<CustomerImportResult> results) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        CustomerImportResult[] chunkResults = new CustomerImportResult[chunk.size()];
+        Map<String, Integer> pending = new LinkedHashMap<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            CustomerDTO customerDTO = chunk.get(i);
+            Set<ConstraintViolation<CustomerDTO>> violations = validator.validate(customerDTO);
+            if (!violations.isEmpty()) {
+                StringJoiner message = new StringJoiner(", ");
+                violations.forEach(violation -> message.add(violation.getPropertyPath() + ": " + violation.getMessage()));
+                chunkResults[i] = new CustomerImportResult(firstRow + i, CustomerImportResult.Status.INVALID, null, message.toString());
+            } else if (pending.putIfAbsent(Customer.normalizeEmail(customerDTO.getEmail()), i) != null) {
+                chunkResults[i] = new CustomerImportResult(firstRow + i, CustomerImportResult.Status.DUPLICATE, null, "Duplicate email in import");
+            }
+        }
+
+        if (!pending.isEmpty()) {
+            for (String email : customerRepository.findExistingEmails(pending.keySet())) {
+                int i = pending.remove(email);
+                chunkResults[i] = new CustomerImportResult(firstRow + i, CustomerImportResult.Status.DUPLICATE, null, "Customer already exists");
+            }
+        }
+
+        if (!pending.isEmpty()) {
+            try {
+                List<CustomerDTO> created = transactionTemplate.execute(status -> persistChunk(chunk, pending.values(), firstRow, chunkResults));
+                for (CustomerDTO createdCustomer : created) {
+                    customerSearchIndex.index(createdCustomer);
+                    customerAuditLog.record(CustomerAudit.Action.CREATE, createdCustomer);
+                }
+                customerCounter.added(created.size());
+                customerPageCache.invalidate();
+            } catch (DataIntegrityViolationException | PersistenceException e) {
+                // Another writer inserted one of these emails after the lookup; settle the chunk row by row.
+                // The flush goes straight through the EntityManager, so Hibernate's exception arrives untranslated.
+                for (int i : pending.values()) {
+                    chunkResults[i] = importOne(chunk.get(i), firstRow + i);
+                }
+            }
+        }
 
-        return modelMapper.map(savedCustomer, CustomerDTO.class);
+        results.addAll(Arrays.asList(chunkResults));
+    }
+
+    private List<CustomerDTO> persistChunk(List<CustomerDTO> chunk, Collection<Integer> indexes, int firstRow, CustomerImportResult[] chunkResults) {
+        List<CustomerDTO> created = new ArrayList<>(indexes.size());
+        int written = 0;
+        for (int i : indexes) {
+            Customer customer = customerMapper.toEntity(chunk.get(i));
+            customer.setId(null);
+            customer.setVersion(null);
+            entityManager.persist(customer);
+            created.add(customerMapper.toDto(customer));
+            chunkResults[i] = new CustomerImportResult(firstRow + i, CustomerImportResult.Status.CREATED, customer.getId(), null);
+            if (++written % importFlushSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return created;
+    }
+
+    private CustomerImportResult importOne(CustomerDTO customerDTO, int row) {
+        try {
+            CustomerDTO savedCustomer = createCustomer(customerDTO);
+            return new CustomerImportResult(row, CustomerImportResult.Status.CREATED, savedCustomer.getId(), null);
+        } catch (ResponseStatusException e) {
+            CustomerImportResult.Status status = e.getStatusCode() == HttpStatus.CONFLICT
+                    ? CustomerImportResult.Status.DUPLICATE
+                    : CustomerImportResult.Status.INVALID;
+            return new CustomerImportResult(row, status, null, e.getReason());
+        } catch (DataIntegrityViolationException e) {
+            // Valid for the DTO but not for the table, e.g. a value longer than its column.
+            return new CustomerImportResult(row, CustomerImportResult.Status.INVALID, null, "Rejected by a column constraint");
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportCustomers(String format, OutputStream outputStream) throws IOException {
+        try (Stream<Customer> customers = customerRepository.streamAll()) {
+            CustomerExportWriter.write(format, objectMapper, customers.map(this::detachedDto).iterator(), outputStream);
+        }
+    }
+
+    @Override
+    public CacheStatsResponse getCacheStats() {
+        return customerCache.stats();
+    }
+
+    @Override
+    public CustomerIdRange getCustomerIdRange() {
+        return new CustomerIdRange(customerRepository.findMinId(), customerRepository.findMaxId());
+    }
+
+    @Override
+    public CustomerBulkChunk updateCustomersInRange(CustomerBulkRequest request, long afterId, long toId, int limit) {
+        Map<String, Object> where = CustomerBulkFields.where(request);
+        Map<String, Object> changes = CustomerBulkFields.changes(request);
+        boolean normalizePhoneNumbers = request.isNormalizePhoneNumbers();
+
+        // Each chunk is its own short transaction, so at most limit rows are locked at a time.
+        BulkWrite write = transactionTemplate.execute(status -> {
+            List<CustomerDTO> matched = customerRepository.findDtosMatching(where, normalizePhoneNumbers, afterId, toId, limit);
+            if (matched.isEmpty()) {
+                return new BulkWrite(matched, List.of());
+            }
+            List<Long> ids = ids(matched);
+            if (customerRepository.updateMatching(ids, where, changes, normalizePhoneNumbers) == 0) {
+                return new BulkWrite(matched, List.of());
+            }
+            return new BulkWrite(matched, customerRepository.findDtosByIds(ids));
+        });
+
+        // The matched rows stay locked until the chunk commits, so exactly the rows this update changed are one
+        // version past what was matched; any other version was not written by this chunk.
+        Map<Long, Long> versions = new HashMap<>(write.matched().size() * 2);
+        for (CustomerDTO customerDTO : write.matched()) {
+            versions.put(customerDTO.getId(), customerDTO.getVersion());
+        }
+        int affected = 0;
+        for (CustomerDTO savedCustomerDTO : write.written()) {
+            if (savedCustomerDTO.getVersion() != versions.get(savedCustomerDTO.getId()) + 1) {
+                continue;
+            }
+            customerCache.put(savedCustomerDTO);
+            customerLoads.forget(savedCustomerDTO.getId());
+            customerSearchIndex.index(savedCustomerDTO);
+            customerAuditLog.record(CustomerAudit.Action.UPDATE, savedCustomerDTO);
+            affected++;
+        }
+        if (affected > 0) {
+            customerPageCache.invalidate();
+        }
+        return bulkChunk(write.matched(), affected, limit);
+    }
+
+    @Override
+    public CustomerBulkChunk deleteCustomersInRange(CustomerBulkRequest request, long afterId, long toId, int limit) {
+        Map<String, Object> where = CustomerBulkFields.where(request);
+
+        BulkWrite write = transactionTemplate.execute(status -> {
+            List<CustomerDTO> matched = customerRepository.findDtosMatching(where, false, afterId, toId, limit);
+            if (matched.isEmpty()) {
+                return new BulkWrite(matched, List.of());
+            }
+            List<Long> ids = ids(matched);
+            // The matched rows are locked until commit, so the delete must remove every one of them; anything else
+            // rolls the chunk back rather than reporting deletes that did not happen.
+            int deleted = customerRepository.deleteMatching(ids, where);
+            if (deleted != matched.size()) {
+                throw new IllegalStateException("Deleted " + deleted + " of " + matched.size() + " locked customers");
+            }
+            return new BulkWrite(matched, matched);
+        });
+
+        for (CustomerDTO deletedCustomerDTO : write.written()) {
+            customerCache.evict(deletedCustomerDTO.getId());
+            customerLoads.forget(deletedCustomerDTO.getId());
+            customerSearchIndex.remove(deletedCustomerDTO.getId());
+            customerAuditLog.record(CustomerAudit.Action.DELETE, deletedCustomerDTO);
+        }
+        if (!write.written().isEmpty()) {
+            customerPageCache.invalidate();
+            customerCounter.removed(write.written().size());
+        }
+        return bulkChunk(write.matched(), write.written().size(), limit);
+    }
+
+    private record BulkWrite(List<CustomerDTO> matched, List<CustomerDTO> written) {
+    }
+
+    private static List<Long> ids(List<CustomerDTO> customerDTOS) {
+        List<Long> ids = new ArrayList<>(customerDTOS.size());
+        for (CustomerDTO customerDTO : customerDTOS) {
+            ids.add(customerDTO.getId());
+        }
+        return ids;
+    }
+
+    private static CustomerBulkChunk bulkChunk(List<CustomerDTO> matched, int affected, int limit) {
+        Long lastId = matched.isEmpty() ? null : matched.get(matched.size() - 1).getId();
+        return new CustomerBulkChunk(matched.size(), affected, lastId, matched.size() < limit);
+    }
+
+    private CustomerDTO detachedDto(Customer customer) {
+        CustomerDTO customerDTO = customerMapper.toDto(customer);
+        entityManager.detach(customer);
+        return customerDTO;
+    }
+
+    private Customer saveUnique(Customer customer) {
+        try {
+            return customerRepository.save(customer);
+        } catch (DataIntegrityViolationException e) {
+            throw duplicateOr(e, customer.getEmail());
+        } catch (OptimisticLockingFailureException e) {
+            throw new CustomerStatusException(HttpStatus.CONFLICT, "Customer was modified concurrently");
+        }
+    }
+
+    private RuntimeException duplicateOr(DataIntegrityViolationException e, String email) {
+        if (email != null && customerRepository.existsByEmail(email)) {
+            return new CustomerStatusException(HttpStatus.CONFLICT, "Customer already exists");
+        }
+        return e;
+    }
+
+    private RuntimeException versionMismatch(Long id) {
+        // Only the failure path pays for telling a stale version apart from a missing customer.
+        if (!customerRepository.existsById(id)) {
+            return new ResourceNotFoundException("Customer", "customerId", id);
+        }
+        return new CustomerStatusException(HttpStatus.PRECONDITION_FAILED, "Customer has been modified");
     }
 
 }
@@ -0,0 +1,461 @@
+package com.bank.app.service;
+
+import com.bank.app.Customer;
+import com.bank.app.CustomerAudit;
+import com.bank.app.audit.CustomerAuditLog;
+import com.bank.app.cache.CustomerCache;
+import com.bank.app.cache.CustomerPageCache;
+import com.bank.app.exceptions.CustomerStatusException;
+import com.bank.app.exceptions.ResourceNotFoundException;
+import com.bank.app.payload.CacheStatsResponse;
+import com.bank.app.payload.CountStrategy;
+import com.bank.app.payload.CustomerBatchResponse;
+import com.bank.app.payload.CustomerBulkChunk;
+import com.bank.app.payload.CustomerBulkRequest;
+import com.bank.app.payload.CustomerDTO;
+import com.bank.app.payload.CustomerFieldsResponse;
+import com.bank.app.payload.CustomerIdRange;
+import com.bank.app.payload.CustomerImportResponse;
+import com.bank.app.payload.CustomerImportResult;
+import com.bank.app.payload.CustomerResponse;
+import com.bank.app.search.CustomerSearchIndex;
+import com.bank.app.storage.MappedCustomerStore;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.function.UnaryOperator;
+
+/**
+ * CustomerService on top of {@link MappedCustomerStore}, for deployments without a database.
+ * Selected with app.storage.type=mapped; it follows the same contract as {@link CustomerServiceImp}.
+ */
+public class MappedCustomerService implements CustomerService {
+
+    private static final int SCAN_PAGE_SIZE = 1000;
+
+    @Autowired
+    private MappedCustomerStore customerStore;
+
+    @Autowired
+    private CustomerCache customerCache;
+
+    @Autowired
+    private CustomerSearchIndex customerSearchIndex;
+
+    @Autowired
+    private CustomerPageCache customerPageCache;
+
+    @Autowired
+    private CustomerAuditLog customerAuditLog;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void indexStore() {
+        Iterator<CustomerDTO> customers = scan();
+        while (customers.hasNext()) {
+            customerSearchIndex.index(customers.next());
+        }
+    }
+
+    @Override
+    public CustomerDTO createCustomer(CustomerDTO customerDTO) {
+        CustomerDTO newCustomer = new CustomerDTO(null, customerDTO.getFirstName(), customerDTO.getLastName(),
+                Customer.normalizeEmail(customerDTO.getEmail()), customerDTO.getPhoneNumber());
+        MappedCustomerStore.WriteResult result = write(() -> customerStore.insert(newCustomer));
+        if (result.status() == MappedCustomerStore.Status.DUPLICATE_EMAIL) {
+            throw new CustomerStatusException(HttpStatus.CONFLICT, "Customer already exists");
+        }
+
+        CustomerDTO savedCustomerDTO = result.customer();
+        customerSearchIndex.index(savedCustomerDTO);
+        customerPageCache.invalidate();
+        customerAuditLog.record(CustomerAudit.Action.CREATE, savedCustomerDTO);
+        return savedCustomerDTO;
+    }
+
+    @Override
+    public CustomerResponse getAllCustomers(Integer page, Integer size, CountStrategy countStrategy) {
+        List<CustomerDTO> customerDTOS = customerStore.page((long) page * size, size + 1);
+        boolean hasNext = customerDTOS.size() > size;
+        if (hasNext) {
+            customerDTOS = customerDTOS.subList(0, size);
+        }
+        if (customerDTOS.isEmpty()) {
+            throw new CustomerStatusException(HttpStatus.NOT_FOUND, "Customer not found");
+        }
+
+        CustomerResponse customerResponse = new CustomerResponse();
+        customerResponse.setContent(customerDTOS);
+        customerResponse.setPageNumber(page);
+        customerResponse.setPageSize(size);
+        customerResponse.setHasNext(hasNext);
+        // The store's size is exact and free, so every strategy but NONE gets the exact total.
+        if (countStrategy == CountStrategy.NONE) {
+            customerResponse.setCountStrategy(CountStrategy.NONE);
+        } else {
+            customerResponse.setTotalElements((long) customerStore.size());
+            customerResponse.setCountStrategy(CountStrategy.EXACT);
+        }
+        return customerResponse;
+    }
+
+    @Override
+    public CustomerResponse getCustomersAfter(String after, Integer size, boolean includeTotal) {
+        Long lastId = after == null || after.isBlank() ? 0L : CustomerCursor.decode(after);
+
+        List<CustomerDTO> customerDTOS = customerStore.after(lastId, size + 1);
+        boolean hasNext = customerDTOS.size() > size;
+        if (hasNext) {
+            customerDTOS = customerDTOS.subList(0, size);
+        }
+
+        CustomerResponse customerResponse = new CustomerResponse();
+        customerResponse.setContent(customerDTOS);
+        customerResponse.setPageSize(size);
+        if (includeTotal) {
+            customerResponse.setTotalElements((long) customerStore.size());
+        }
+        customerResponse.setCountStrategy(includeTotal ? CountStrategy.EXACT : CountStrategy.NONE);
+        customerResponse.setHasNext(hasNext);
+        if (hasNext) {
+            customerResponse.setNextCursor(CustomerCursor.encode(customerDTOS.get(customerDTOS.size() - 1).getId()));
+        }
+        return customerResponse;
+    }
+
+    @Override
+    public CustomerFieldsResponse getCustomerFields(List<String> fields, Integer page, String after, Integer size) {
+        List<String> selectedFields = CustomerFields.select(fields);
+
+        List<CustomerDTO> customerDTOS;
+        boolean hasNext = false;
+        if (page != null) {
+            customerDTOS = customerStore.page((long) page * size, size);
+        } else {
+            Long lastId = after == null || after.isBlank() ? 0L : CustomerCursor.decode(after);
+            customerDTOS = customerStore.after(lastId, size + 1);
+            hasNext = customerDTOS.size() > size;
+            if (hasNext) {
+                customerDTOS = customerDTOS.subList(0, size);
+            }
+        }
+
+        List<Map<String, Object>> rows = new ArrayList<>(customerDTOS.size());
+        for (CustomerDTO customerDTO : customerDTOS) {
+            rows.add(CustomerFields.project(customerDTO, selectedFields));
+        }
+
+        CustomerFieldsResponse fieldsResponse = new CustomerFieldsResponse();
+        fieldsResponse.setContent(rows);
+        fieldsResponse.setPageNumber(page);
+        fieldsResponse.setPageSize(size);
+        if (hasNext) {
+            fieldsResponse.setNextCursor(CustomerCursor.encode(customerDTOS.get(customerDTOS.size() - 1).getId()));
+        }
+        return fieldsResponse;
+    }
+
+    @Override
+    public CustomerDTO getCustomerById(Long id) {
+        CustomerDTO customerDTO = customerStore.get(id);
+        if (customerDTO == null) {
+            throw new CustomerStatusException(HttpStatus.NOT_FOUND, "Customer not found");
+        }
+        return customerDTO;
+    }
+
+    @Override
+    public CustomerBatchResponse getCustomersByIds(List<Long> ids) {
+        List<CustomerDTO> content = new ArrayList<>(ids.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : new LinkedHashSet<>(ids)) {
+            CustomerDTO customerDTO = customerStore.get(id);
+            if (customerDTO != null) {
+                content.add(customerDTO);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new CustomerBatchResponse(content, missingIds);
+    }
+
+    @Override
+    public CustomerResponse searchCustomers(String query, Integer page, Integer size) {
+        if (query == null || query.isBlank()) {
+            throw new CustomerStatusException(HttpStatus.BAD_REQUEST, "Search query must not be blank");
+        }
+
+        CustomerSearchIndex.Hits hits = customerSearchIndex.search(query, page * size, size);
+
+        CustomerResponse customerResponse = new CustomerResponse();
+        customerResponse.setContent(hits.ids().isEmpty() ? List.of() : getCustomersByIds(hits.ids()).getContent());
+        customerResponse.setPageNumber(page);
+        customerResponse.setPageSize(size);
+        customerResponse.setTotalElements(hits.total());
+        return customerResponse;
+    }
+
+    @Override
+    public CustomerDTO updateCustomer(CustomerDTO customerDTO, Long id, Long expectedVersion) {
+        return update(id, expectedVersion, current -> new CustomerDTO(id, customerDTO.getFirstName(),
+                customerDTO.getLastName(), Customer.normalizeEmail(customerDTO.getEmail()), customerDTO.getPhoneNumber()));
+    }
+
+    @Override
+    public CustomerDTO patchCustomer(CustomerDTO customerDTO, Long id, Long expectedVersion) {
+        String email = Customer.normalizeEmail(customerDTO.getEmail());
+        if (email != null) {
+            Set<ConstraintViolation<CustomerDTO>> violations = validator.validateValue(CustomerDTO.class, "email", email);
+            if (!violations.isEmpty()) {
+                throw new CustomerStatusException(HttpStatus.BAD_REQUEST, "email: " + violations.iterator().next().getMessage());
+            }
+        }
+        if (customerDTO.getFirstName() == null && customerDTO.getLastName() == null && email == null
+                && customerDTO.getPhoneNumber() == null) {
+            throw new CustomerStatusException(HttpStatus.BAD_REQUEST, "No fields to update");
+        }
+
+        return update(id, expectedVersion, current -> new CustomerDTO(id,
+                customerDTO.getFirstName() != null ? customerDTO.getFirstName() : current.getFirstName(),
+                customerDTO.getLastName() != null ? customerDTO.getLastName() : current.getLastName(),
+                email != null ? email : current.getEmail(),
+                customerDTO.getPhoneNumber() != null ? customerDTO.getPhoneNumber() : current.getPhoneNumber()));
+    }
+
+    @Override
+    public CustomerDTO deleteCustomer(Long id) {
+        CustomerDTO deletedCustomerDTO;
+        try {
+            deletedCustomerDTO = customerStore.delete(id);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (deletedCustomerDTO == null) {
+            throw new ResourceNotFoundException("Customer", "customerId", id);
+        }
+
+        customerSearchIndex.remove(id);
+
+        customerPageCache.invalidate();
+        customerAuditLog.record(CustomerAudit.Action.DELETE, deletedCustomerDTO);
+        return deletedCustomerDTO;
+    }
+
+    @Override
+    public CustomerImportResponse importCustomers(InputStream inputStream) {
+        List<CustomerImportResult> results = new ArrayList<>();
+        int row = 0;
+
+        // Appends are already sequential writes to the mapped log, so rows are stored one by one.
+        try (MappingIterator<CustomerDTO> iterator = objectMapper.readerFor(CustomerDTO.class).readValues(inputStream)) {
+            while (iterator.hasNextValue()) {
+                results.add(importOne(iterator.nextValue(), row++));
+            }
+        } catch (JacksonException e) {
+            results.add(new CustomerImportResult(row, CustomerImportResult.Status.INVALID, null,
+                    "Malformed JSON, import stopped: " + e.getOriginalMessage()));
+        }
+
+        int created = 0;
+        for (CustomerImportResult result : results) {
+            if (result.getStatus() == CustomerImportResult.Status.CREATED) {
+                created++;
+            }
+        }
+        return new CustomerImportResponse(created, results.size() - created, results);
+    }
+
+    @Override
+    public void exportCustomers(String format, OutputStream outputStream) throws IOException {
+        CustomerExportWriter.write(format, objectMapper, scan(), outputStream);
+    }
+
+    @Override
+    public CacheStatsResponse getCacheStats() {
+        // The store is already in memory, so reads never go through the customer cache.
+        return customerCache.stats();
+    }
+
+    @Override
+    public CustomerIdRange getCustomerIdRange() {
+        long minId = customerStore.minId();
+        return minId < 0 ? new CustomerIdRange(null, null) : new CustomerIdRange(minId, customerStore.maxId());
+    }
+
+    @Override
+    public CustomerBulkChunk updateCustomersInRange(CustomerBulkRequest request, long afterId, long toId, int limit) {
+        Map<String, Object> where = CustomerBulkFields.where(request);
+        Map<String, Object> changes = CustomerBulkFields.changes(request);
+        boolean normalizePhoneNumbers = request.isNormalizePhoneNumbers();
+
+        List<CustomerDTO> scanned = scanRange(afterId, toId, limit);
+        int matched = 0;
+        int affected = 0;
+        for (CustomerDTO customerDTO : scanned) {
+            if (!CustomerBulkFields.matches(customerDTO, where, normalizePhoneNumbers)) {
+                continue;
+            }
+            matched++;
+            // A customer written since the scan is left alone, as the database leaves a row that stopped matching.
+            MappedCustomerStore.WriteResult result = write(() -> customerStore.update(customerDTO.getId(), customerDTO.getVersion(),
+                    current -> CustomerBulkFields.apply(current, changes, normalizePhoneNumbers)));
+            if (result.status() != MappedCustomerStore.Status.OK) {
+                continue;
+            }
+            customerSearchIndex.index(result.customer());
+            customerAuditLog.record(CustomerAudit.Action.UPDATE, result.customer());
+            affected++;
+        }
+        if (affected > 0) {
+            customerPageCache.invalidate();
+        }
+        return bulkChunk(scanned, matched, affected, toId, limit);
+    }
+
+    @Override
+    public CustomerBulkChunk deleteCustomersInRange(CustomerBulkRequest request, long afterId, long toId, int limit) {
+        Map<String, Object> where = CustomerBulkFields.where(request);
+
+        List<CustomerDTO> scanned = scanRange(afterId, toId, limit);
+        int matched = 0;
+        int affected = 0;
+        for (CustomerDTO customerDTO : scanned) {
+            if (!CustomerBulkFields.matches(customerDTO, where, false)) {
+                continue;
+            }
+            matched++;
+            CustomerDTO deletedCustomerDTO;
+            try {
+                deletedCustomerDTO = customerStore.delete(customerDTO.getId());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (deletedCustomerDTO == null) {
+                continue;
+            }
+            customerSearchIndex.remove(deletedCustomerDTO.getId());
+            customerAuditLog.record(CustomerAudit.Action.DELETE, deletedCustomerDTO);
+            affected++;
+        }
+        if (affected > 0) {
+            customerPageCache.invalidate();
+        }
+        return bulkChunk(scanned, matched, affected, toId, limit);
+    }
+
+    // The store has no filtered scan, so a chunk reads up to limit customers of the range and filters them here.
+    private List<CustomerDTO> scanRange(long afterId, long toId, int limit) {
+        List<CustomerDTO> scanned = customerStore.after(afterId, limit);
+        int end = scanned.size();
+        while (end > 0 && scanned.get(end - 1).getId() > toId) {
+            end--;
+        }
+        return end == scanned.size() ? scanned : scanned.subList(0, end);
+    }
+
+    private static CustomerBulkChunk bulkChunk(List<CustomerDTO> scanned, int matched, int affected, long toId, int limit) {
+        Long lastId = scanned.isEmpty() ? null : scanned.get(scanned.size() - 1).getId();
+        boolean done = scanned.size() < limit || lastId >= toId;
+        return new CustomerBulkChunk(matched, affected, lastId, done);
+    }
+
+    private CustomerImportResult importOne(CustomerDTO customerDTO, int row) {
+        Set<ConstraintViolation<CustomerDTO>> violations = validator.validate(customerDTO);
+        if (!violations.isEmpty()) {
+            StringJoiner message = new StringJoiner(", ");
+            violations.forEach(violation -> message.add(violation.getPropertyPath() + ": " + violation.getMessage()));
+            return new CustomerImportResult(row, CustomerImportResult.Status.INVALID, null, message.toString());
+        }
+        try {
+            CustomerDTO savedCustomer = createCustomer(customerDTO);
+            return new CustomerImportResult(row, CustomerImportResult.Status.CREATED, savedCustomer.getId(), null);
+        } catch (ResponseStatusException e) {
+            CustomerImportResult.Status status = e.getStatusCode() == HttpStatus.CONFLICT
+                    ? CustomerImportResult.Status.DUPLICATE
+                    : CustomerImportResult.Status.INVALID;
+            return new CustomerImportResult(row, status, null, e.getReason());
+        }
+    }
+
+    private CustomerDTO update(Long id, Long expectedVersion, UnaryOperator<CustomerDTO> change) {
+        MappedCustomerStore.WriteResult result = write(() -> customerStore.update(id, expectedVersion, change));
+        switch (result.status()) {
+            case NOT_FOUND -> throw new ResourceNotFoundException("Customer", "customerId", id);
+            case VERSION_MISMATCH -> throw new CustomerStatusException(HttpStatus.PRECONDITION_FAILED, "Customer has been modified");
+            case DUPLICATE_EMAIL -> throw new CustomerStatusException(HttpStatus.CONFLICT, "Customer already exists");
+            default -> {
+            }
+        }
+
+        CustomerDTO savedCustomerDTO = result.customer();
+        customerSearchIndex.index(savedCustomerDTO);
+        customerPageCache.invalidate();
+        customerAuditLog.record(CustomerAudit.Action.UPDATE, savedCustomerDTO);
+        return savedCustomerDTO;
+    }
+
+    private MappedCustomerStore.WriteResult write(StoreWrite storeWrite) {
+        try {
+            return storeWrite.run();
+        } catch (IllegalArgumentException e) {
+            // Fixed-size records cap each field's length.
+            throw new CustomerStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Iterator<CustomerDTO> scan() {
+        return new Iterator<>() {
+            private List<CustomerDTO> page = customerStore.after(0L, SCAN_PAGE_SIZE);
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                if (index == page.size() && page.size() == SCAN_PAGE_SIZE) {
+                    page = customerStore.after(page.get(page.size() - 1).getId(), SCAN_PAGE_SIZE);
+                    index = 0;
+                }
+                return index < page.size();
+            }
+
+            @Override
+            public CustomerDTO next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return page.get(index++);
+            }
+        };
+    }
+
+    @FunctionalInterface
+    private interface StoreWrite {
+        MappedCustomerStore.WriteResult run() throws IOException;
+    }
+}
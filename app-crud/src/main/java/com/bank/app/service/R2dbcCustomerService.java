@@ -0,0 +1,95 @@
+package com.bank.app.service;
+
+import com.bank.app.exceptions.ResourceNotFoundException;
+import com.bank.app.payload.CustomerDTO;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reads the customers table over R2DBC, so no thread waits on the database and a Flux only fetches rows as fast
+ * as the client takes them. It only reads: creates, updates and deletes stay on {@link CustomerService}, which keeps
+ * the caches, search index, audit log and counters in step with the table.
+ */
+public class R2dbcCustomerService implements ReactiveCustomerService {
+
+    private static final String SELECT = "select id, first_name, last_name, email, phone_number, version from customers";
+
+    private final DatabaseClient databaseClient;
+    private final ConnectionPool connectionPool;
+    private final int exportFetchSize;
+
+    public R2dbcCustomerService(DatabaseClient databaseClient, ConnectionPool connectionPool, int exportFetchSize) {
+        this.databaseClient = databaseClient;
+        this.connectionPool = connectionPool;
+        this.exportFetchSize = exportFetchSize;
+    }
+
+    @Override
+    public Mono<CustomerDTO> getCustomerById(Long id) {
+        return databaseClient.sql(SELECT + " where id = :id")
+                .bind("id", id)
+                .map(R2dbcCustomerService::toDto)
+                .one()
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Customer", "customerId", id)));
+    }
+
+    @Override
+    public Flux<CustomerDTO> getAllCustomers(Integer page, Integer size) {
+        return databaseClient.sql(SELECT + " order by id limit :limit offset :offset")
+                .bind("limit", size)
+                .bind("offset", (long) page * size)
+                .map(R2dbcCustomerService::toDto)
+                .all();
+    }
+
+    @Override
+    public Flux<CustomerDTO> getCustomersAfter(String after, Integer size) {
+        return databaseClient.sql(SELECT + " where id > :id order by id limit :limit")
+                .bind("id", lastId(after))
+                .bind("limit", size)
+                .map(R2dbcCustomerService::toDto)
+                .all();
+    }
+
+    @Override
+    public Mono<String> getNextCursor(String after, Integer size) {
+        // Reads only ids: the last id of the page and, if another page follows, the first id after it.
+        return databaseClient.sql("select id from customers where id > :id order by id limit 2 offset :offset")
+                .bind("id", lastId(after))
+                .bind("offset", size - 1)
+                .map(row -> row.get("id", Long.class))
+                .all()
+                .collectList()
+                .filter(ids -> ids.size() == 2)
+                .map(ids -> CustomerCursor.encode(ids.get(0)));
+    }
+
+    @Override
+    public Flux<CustomerDTO> exportCustomers() {
+        return databaseClient.sql(SELECT + " order by id")
+                .filter(statement -> statement.fetchSize(exportFetchSize))
+                .map(R2dbcCustomerService::toDto)
+                .all();
+    }
+
+    public void close() {
+        connectionPool.dispose();
+    }
+
+    private static Long lastId(String after) {
+        return after == null || after.isBlank() ? Long.MIN_VALUE : CustomerCursor.decode(after);
+    }
+
+    private static CustomerDTO toDto(Readable row) {
+        return new CustomerDTO(
+                row.get("id", Long.class),
+                row.get("first_name", String.class),
+                row.get("last_name", String.class),
+                row.get("email", String.class),
+                row.get("phone_number", String.class),
+                row.get("version", Long.class));
+    }
+}
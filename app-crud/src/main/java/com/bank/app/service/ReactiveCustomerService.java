@@ -0,0 +1,17 @@
+package com.bank.app.service;
+
+import com.bank.app.payload.CustomerDTO;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveCustomerService {
+    Mono<CustomerDTO> getCustomerById(Long id);
+    Flux<CustomerDTO> getAllCustomers(Integer page, Integer size);
+    Flux<CustomerDTO> getCustomersAfter(String after, Integer size);
+
+    /**
+     * The cursor of the page that follows {@code getCustomersAfter(after, size)}, or empty when that page is the last.
+     */
+    Mono<String> getNextCursor(String after, Integer size);
+    Flux<CustomerDTO> exportCustomers();
+}
@@ -0,0 +1,552 @@
+package com.bank.app.storage;
+
+import com.bank.app.payload.CustomerDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.UnaryOperator;
+import java.util.zip.CRC32C;
+
+/**
+ * Log-structured customer store in a memory-mapped file.
+ * <p>
+ * Every write appends one fixed-size record: a put carries the whole customer, a delete is a tombstone.
+ * An off-heap hash maps each id to the slot of its latest record and a bit set keeps live ids in order.
+ * Opening the file replays the log to rebuild both, stopping at the first record whose checksum does not
+ * match, which is where a crash cut a write short. Compaction rewrites only live records into a new file
+ * and swaps it in with an atomic rename; if anything fails before the rename, the old log stays in service.
+ * The new file starts with a marker holding the highest id handed out, since the tombstones that carried it
+ * are gone and ids of deleted customers must not come back.
+ * <p>
+ * Segments are only mapped under the write lock, so readers never change the segment list.
+ */
+public class MappedCustomerStore implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(MappedCustomerStore.class);
+
+    // Record layout: type, id, version, four length-prefixed string fields, CRC32C, padding.
+    static final int RECORD_SIZE = 320;
+    private static final byte EMPTY = 0;
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    private static final byte LAST_ID = 3;
+    private static final int FIRST_NAME_BYTES = 64;
+    private static final int LAST_NAME_BYTES = 64;
+    private static final int EMAIL_BYTES = 128;
+    private static final int PHONE_NUMBER_BYTES = 32;
+    private static final int CRC_OFFSET = 1 + 8 + 8
+            + 2 + FIRST_NAME_BYTES + 2 + LAST_NAME_BYTES + 2 + EMAIL_BYTES + 2 + PHONE_NUMBER_BYTES;
+
+    public enum Status {
+        OK, NOT_FOUND, VERSION_MISMATCH, DUPLICATE_EMAIL
+    }
+
+    public record WriteResult(Status status, CustomerDTO customer) {
+    }
+
+    private final Path file;
+    private final int segmentRecords;
+    private final long segmentBytes;
+    private final double compactionRatio;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private FileChannel channel;
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+    private final OffHeapLongIndex slotsById;
+    private final Map<String, Long> idsByEmail = new HashMap<>();
+    private final BitSet liveIds = new BitSet();
+    private long nextSlot;
+    private long nextId = 1;
+    private long deadRecords;
+    private ScheduledExecutorService maintenance;
+    // Swaps a compacted file in for the log; tests substitute one that fails.
+    LogMover logMover = (source, target) -> Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+    interface LogMover {
+        void move(Path source, Path target) throws IOException;
+    }
+
+    private MappedCustomerStore(Path file, int segmentRecords, double compactionRatio) {
+        this.file = file;
+        this.segmentRecords = segmentRecords;
+        this.segmentBytes = (long) segmentRecords * RECORD_SIZE;
+        this.compactionRatio = compactionRatio;
+        this.slotsById = new OffHeapLongIndex(segmentRecords);
+    }
+
+    public static MappedCustomerStore open(Path file, int segmentRecords, double compactionRatio) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        // A leftover compaction file was never renamed into place, so the original log is still authoritative.
+        Files.deleteIfExists(compactionFile(file));
+
+        MappedCustomerStore store = new MappedCustomerStore(file, segmentRecords, compactionRatio);
+        store.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        store.replay();
+        return store;
+    }
+
+    /**
+     * Forces dirty pages to disk every syncInterval and compacts every compactionInterval when enough
+     * of the log is dead. Between syncs a process crash loses nothing, an OS crash may lose the last interval.
+     */
+    public void scheduleMaintenance(Duration syncInterval, Duration compactionInterval) {
+        maintenance = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("customer-store-maintenance").daemon().factory());
+        maintenance.scheduleWithFixedDelay(this::syncQuietly, syncInterval.toMillis(), syncInterval.toMillis(), TimeUnit.MILLISECONDS);
+        maintenance.scheduleWithFixedDelay(this::compactQuietly, compactionInterval.toMillis(), compactionInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public CustomerDTO get(long id) {
+        lock.readLock().lock();
+        try {
+            long slot = slotsById.get(id);
+            return slot < 0 ? null : read(slot);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public WriteResult insert(CustomerDTO customerDTO) throws IOException {
+        lock.writeLock().lock();
+        try {
+            if (idsByEmail.containsKey(customerDTO.getEmail())) {
+                return new WriteResult(Status.DUPLICATE_EMAIL, null);
+            }
+            CustomerDTO stored = new CustomerDTO(nextId, customerDTO.getFirstName(), customerDTO.getLastName(),
+                    customerDTO.getEmail(), customerDTO.getPhoneNumber(), 0L);
+            append(PUT, stored);
+            return new WriteResult(Status.OK, stored);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies change to the current record and appends the result with the next version.
+     * A null expectedVersion skips the version check. The change runs under the write lock.
+     */
+    public WriteResult update(long id, Long expectedVersion, UnaryOperator<CustomerDTO> change) throws IOException {
+        lock.writeLock().lock();
+        try {
+            long slot = slotsById.get(id);
+            if (slot < 0) {
+                return new WriteResult(Status.NOT_FOUND, null);
+            }
+            CustomerDTO current = read(slot);
+            if (expectedVersion != null && !expectedVersion.equals(current.getVersion())) {
+                return new WriteResult(Status.VERSION_MISMATCH, current);
+            }
+            CustomerDTO changed = change.apply(current);
+            Long owner = idsByEmail.get(changed.getEmail());
+            if (owner != null && owner != id) {
+                return new WriteResult(Status.DUPLICATE_EMAIL, current);
+            }
+            CustomerDTO stored = new CustomerDTO(id, changed.getFirstName(), changed.getLastName(),
+                    changed.getEmail(), changed.getPhoneNumber(), current.getVersion() + 1);
+            append(PUT, stored);
+            return new WriteResult(Status.OK, stored);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public CustomerDTO delete(long id) throws IOException {
+        lock.writeLock().lock();
+        try {
+            long slot = slotsById.get(id);
+            if (slot < 0) {
+                return null;
+            }
+            CustomerDTO current = read(slot);
+            append(DELETE, current);
+            return current;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The lowest live id, or -1 when the store is empty.
+     */
+    public long minId() {
+        lock.readLock().lock();
+        try {
+            return liveIds.nextSetBit(0);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The highest live id, or -1 when the store is empty.
+     */
+    public long maxId() {
+        lock.readLock().lock();
+        try {
+            return liveIds.length() - 1;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Customers in id order, skipping the first offset of them.
+     */
+    public List<CustomerDTO> page(long offset, int limit) {
+        lock.readLock().lock();
+        try {
+            int id = liveIds.nextSetBit(0);
+            for (long skipped = 0; skipped < offset && id >= 0; skipped++) {
+                id = liveIds.nextSetBit(id + 1);
+            }
+            return collect(id, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Customers with an id greater than afterId, in id order.
+     */
+    public List<CustomerDTO> after(long afterId, int limit) {
+        lock.readLock().lock();
+        try {
+            int from = (int) Math.max(0, Math.min(Integer.MAX_VALUE, afterId + 1));
+            return collect(liveIds.nextSetBit(from), limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long deadRecords() {
+        lock.readLock().lock();
+        try {
+            return deadRecords;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Compacts when dead records make up more than the configured share of the log.
+     */
+    public boolean compactIfNeeded() throws IOException {
+        lock.writeLock().lock();
+        try {
+            if (deadRecords == 0 || deadRecords < compactionRatio * nextSlot) {
+                return false;
+            }
+            compact();
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void compact() throws IOException {
+        lock.writeLock().lock();
+        try {
+            long start = System.nanoTime();
+            long before = nextSlot;
+            Path compacted = compactionFile(file);
+            ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+            List<long[]> moves = new ArrayList<>(slotsById.size());
+            List<MappedByteBuffer> compactedSegments = new ArrayList<>();
+            // A compaction that failed before its rename may have left its file behind.
+            Files.deleteIfExists(compacted);
+            FileChannel out = FileChannel.open(compacted, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            try {
+                ByteBuffer marker = ByteBuffer.wrap(encode(LAST_ID, new CustomerDTO(nextId - 1, null, null, null, null, 0L)).array());
+                while (marker.hasRemaining()) {
+                    out.write(marker);
+                }
+                long newSlot = 1;
+                for (int id = liveIds.nextSetBit(0); id >= 0; id = liveIds.nextSetBit(id + 1)) {
+                    record.clear();
+                    segmentFor(slotsById.get(id)).get(offsetIn(slotsById.get(id)), record.array(), 0, RECORD_SIZE);
+                    while (record.hasRemaining()) {
+                        out.write(record);
+                    }
+                    moves.add(new long[]{id, newSlot++});
+                }
+                out.force(true);
+                mapThrough(out, compactedSegments, moves.size());
+
+                // The rename is the commit point; a crash before it leaves the old log in place. Until it succeeds
+                // the store keeps serving the old log, which stays open and mapped.
+                logMover.move(compacted, file);
+            } catch (IOException | RuntimeException e) {
+                compactedSegments.clear();
+                discard(out, compacted, e);
+                throw e;
+            }
+
+            // The new channel was opened before the rename and follows the file, so nothing past this point can fail
+            // half way through the swap.
+            FileChannel replaced = channel;
+            channel = out;
+            segments.clear();
+            segments.addAll(compactedSegments);
+            for (long[] move : moves) {
+                slotsById.put(move[0], move[1]);
+            }
+            nextSlot = moves.size() + 1;
+            deadRecords = 0;
+            try {
+                replaced.close();
+            } catch (IOException e) {
+                log.warn("Closing the replaced customer store log {} failed", file, e);
+            }
+            log.info("Compacted customer store from {} to {} records in {} ms", before, nextSlot, (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void sync() {
+        lock.readLock().lock();
+        try {
+            for (MappedByteBuffer segment : segments) {
+                segment.force();
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (maintenance != null) {
+            maintenance.shutdownNow();
+        }
+        lock.writeLock().lock();
+        try {
+            for (MappedByteBuffer segment : segments) {
+                segment.force();
+            }
+            segments.clear();
+            channel.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void replay() throws IOException {
+        long fileRecords = channel.size() / RECORD_SIZE;
+        long slot = 0;
+        while (slot < fileRecords) {
+            MappedByteBuffer segment = mapThrough(slot);
+            int offset = offsetIn(slot);
+            byte type = segment.get(offset);
+            if (type == EMPTY) {
+                break;
+            }
+            if (!checksumMatches(segment, offset)) {
+                log.warn("Customer store {} has a torn record at slot {}, discarding the rest of the log", file, slot);
+                break;
+            }
+            CustomerDTO customerDTO = read(slot);
+            if (type != LAST_ID) {
+                apply(type, customerDTO, slot);
+            }
+            nextId = Math.max(nextId, customerDTO.getId() + 1);
+            slot++;
+        }
+        nextSlot = slot;
+        // Pages can reach the disk out of order, so records after the first bad one may still look valid.
+        // Clear them, or they would be replayed once new appends fill the gap.
+        for (long tail = slot; tail < fileRecords; tail++) {
+            MappedByteBuffer segment = mapThrough(tail);
+            int offset = offsetIn(tail);
+            if (segment.get(offset) != EMPTY) {
+                segment.put(offset, new byte[RECORD_SIZE]);
+            }
+        }
+        log.info("Opened customer store {} with {} customers from {} records", file, slotsById.size(), nextSlot);
+    }
+
+    private void append(byte type, CustomerDTO customerDTO) throws IOException {
+        if (customerDTO.getId() >= Integer.MAX_VALUE) {
+            throw new IllegalStateException("Customer id space of the mapped store is exhausted");
+        }
+        ByteBuffer record = encode(type, customerDTO);
+        long slot = nextSlot;
+        mapThrough(slot).put(offsetIn(slot), record.array(), 0, RECORD_SIZE);
+        nextSlot++;
+        apply(type, customerDTO, slot);
+        nextId = Math.max(nextId, customerDTO.getId() + 1);
+    }
+
+    private void apply(byte type, CustomerDTO customerDTO, long slot) {
+        long id = customerDTO.getId();
+        long previousSlot = slotsById.get(id);
+        if (previousSlot >= 0) {
+            deadRecords++;
+            idsByEmail.remove(read(previousSlot).getEmail());
+        }
+        if (type == PUT) {
+            slotsById.put(id, slot);
+            idsByEmail.put(customerDTO.getEmail(), id);
+            liveIds.set((int) id);
+        } else {
+            slotsById.remove(id);
+            liveIds.clear((int) id);
+            deadRecords++;
+        }
+    }
+
+    private List<CustomerDTO> collect(int fromId, int limit) {
+        List<CustomerDTO> customers = new ArrayList<>(Math.min(limit, 1024));
+        for (int id = fromId; id >= 0 && customers.size() < limit; id = liveIds.nextSetBit(id + 1)) {
+            customers.add(read(slotsById.get(id)));
+        }
+        return customers;
+    }
+
+    private CustomerDTO read(long slot) {
+        MappedByteBuffer segment = segmentFor(slot);
+        int offset = offsetIn(slot);
+        long id = segment.getLong(offset + 1);
+        long version = segment.getLong(offset + 9);
+        int position = offset + 17;
+        String firstName = readString(segment, position);
+        position += 2 + FIRST_NAME_BYTES;
+        String lastName = readString(segment, position);
+        position += 2 + LAST_NAME_BYTES;
+        String email = readString(segment, position);
+        position += 2 + EMAIL_BYTES;
+        String phoneNumber = readString(segment, position);
+        return new CustomerDTO(id, firstName, lastName, email, phoneNumber, version);
+    }
+
+    private static ByteBuffer encode(byte type, CustomerDTO customerDTO) {
+        ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+        record.put(type);
+        record.putLong(customerDTO.getId());
+        record.putLong(customerDTO.getVersion() == null ? 0L : customerDTO.getVersion());
+        writeString(record, customerDTO.getFirstName(), FIRST_NAME_BYTES, "firstName");
+        writeString(record, customerDTO.getLastName(), LAST_NAME_BYTES, "lastName");
+        writeString(record, customerDTO.getEmail(), EMAIL_BYTES, "email");
+        writeString(record, customerDTO.getPhoneNumber(), PHONE_NUMBER_BYTES, "phoneNumber");
+        CRC32C crc = new CRC32C();
+        crc.update(record.array(), 0, CRC_OFFSET);
+        record.putInt(CRC_OFFSET, (int) crc.getValue());
+        return record;
+    }
+
+    private static boolean checksumMatches(MappedByteBuffer segment, int offset) {
+        byte[] bytes = new byte[CRC_OFFSET];
+        segment.get(offset, bytes);
+        CRC32C crc = new CRC32C();
+        crc.update(bytes);
+        return (int) crc.getValue() == segment.getInt(offset + CRC_OFFSET);
+    }
+
+    private static void writeString(ByteBuffer record, String value, int capacity, String field) {
+        int start = record.position();
+        if (value == null) {
+            record.putShort((short) -1);
+        } else {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length > capacity) {
+                throw new IllegalArgumentException(field + " must be at most " + capacity + " bytes");
+            }
+            record.putShort((short) bytes.length);
+            record.put(bytes);
+        }
+        record.position(start + 2 + capacity);
+    }
+
+    private static String readString(MappedByteBuffer segment, int position) {
+        short length = segment.getShort(position);
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        segment.get(position + 2, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private MappedByteBuffer segmentFor(long slot) {
+        return segments.get((int) (slot / segmentRecords));
+    }
+
+    // Callers hold the write lock, or run before the store is shared.
+    private MappedByteBuffer mapThrough(long slot) {
+        return mapThrough(channel, segments, slot);
+    }
+
+    private MappedByteBuffer mapThrough(FileChannel mapped, List<MappedByteBuffer> into, long slot) {
+        int index = (int) (slot / segmentRecords);
+        while (into.size() <= index) {
+            try {
+                // Mapping past the end of the file grows it, so appends never need an explicit resize.
+                into.add(mapped.map(FileChannel.MapMode.READ_WRITE, into.size() * segmentBytes, segmentBytes));
+            } catch (IOException e) {
+                throw new IllegalStateException("Cannot map customer store segment " + into.size() + " of " + file, e);
+            }
+        }
+        return into.get(index);
+    }
+
+    private int offsetIn(long slot) {
+        return (int) (slot % segmentRecords) * RECORD_SIZE;
+    }
+
+    private void syncQuietly() {
+        try {
+            sync();
+        } catch (RuntimeException e) {
+            log.warn("Syncing customer store {} failed", file, e);
+        }
+    }
+
+    private void compactQuietly() {
+        try {
+            compactIfNeeded();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Compacting customer store {} failed", file, e);
+        }
+    }
+
+    private static void discard(FileChannel out, Path compacted, Exception failure) {
+        try {
+            out.close();
+            Files.deleteIfExists(compacted);
+        } catch (IOException e) {
+            failure.addSuppressed(e);
+        }
+    }
+
+    private static Path compactionFile(Path file) {
+        return file.resolveSibling(file.getFileName() + ".compact");
+    }
+}
@@ -0,0 +1,140 @@
+package com.bank.app.storage;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Open-addressing hash map from long to long kept in a direct buffer, so millions of entries
+ * cost no heap objects and nothing for the garbage collector to trace.
+ * Keys must be non-zero; zero marks an empty slot. Not thread-safe, the owner guards it.
+ */
+final class OffHeapLongIndex {
+
+    private static final int ENTRY_BYTES = 16;
+    private static final long EMPTY = 0L;
+    private static final double MAX_LOAD = 0.7;
+
+    private ByteBuffer table;
+    private int mask;
+    private int size;
+
+    OffHeapLongIndex(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    long get(long key) {
+        int slot = slotOf(key);
+        while (true) {
+            long current = keyAt(slot);
+            if (current == key) {
+                return valueAt(slot);
+            }
+            if (current == EMPTY) {
+                return -1L;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    void put(long key, long value) {
+        if (key == EMPTY) {
+            throw new IllegalArgumentException("Key must not be 0");
+        }
+        if (size + 1 > (mask + 1) * MAX_LOAD) {
+            resize((mask + 1) * 2);
+        }
+        int slot = slotOf(key);
+        while (true) {
+            long current = keyAt(slot);
+            if (current == key) {
+                table.putLong(slot * ENTRY_BYTES + 8, value);
+                return;
+            }
+            if (current == EMPTY) {
+                table.putLong(slot * ENTRY_BYTES, key);
+                table.putLong(slot * ENTRY_BYTES + 8, value);
+                size++;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    boolean remove(long key) {
+        int slot = slotOf(key);
+        while (true) {
+            long current = keyAt(slot);
+            if (current == EMPTY) {
+                return false;
+            }
+            if (current == key) {
+                break;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        // Backward-shift deletion: pull later entries of the probe run into the hole, so no tombstones are needed.
+        int hole = slot;
+        int next = (hole + 1) & mask;
+        while (true) {
+            long nextKey = keyAt(next);
+            if (nextKey == EMPTY) {
+                break;
+            }
+            int home = slotOf(nextKey);
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                table.putLong(hole * ENTRY_BYTES, nextKey);
+                table.putLong(hole * ENTRY_BYTES + 8, valueAt(next));
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        table.putLong(hole * ENTRY_BYTES, EMPTY);
+        table.putLong(hole * ENTRY_BYTES + 8, 0L);
+        size--;
+        return true;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        allocate(tableSizeFor(0));
+    }
+
+    private void resize(int newCapacity) {
+        ByteBuffer old = table;
+        int oldCapacity = mask + 1;
+        allocate(newCapacity);
+        for (int slot = 0; slot < oldCapacity; slot++) {
+            long key = old.getLong(slot * ENTRY_BYTES);
+            if (key != EMPTY) {
+                put(key, old.getLong(slot * ENTRY_BYTES + 8));
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        table = ByteBuffer.allocateDirect(capacity * ENTRY_BYTES);
+        mask = capacity - 1;
+        size = 0;
+    }
+
+    private long keyAt(int slot) {
+        return table.getLong(slot * ENTRY_BYTES);
+    }
+
+    private long valueAt(int slot) {
+        return table.getLong(slot * ENTRY_BYTES + 8);
+    }
+
+    private int slotOf(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        int needed = (int) Math.ceil(Math.max(16, expectedSize) / MAX_LOAD);
+        return Integer.highestOneBit(needed - 1) << 1;
+    }
+}
@@ -0,0 +1,97 @@
+package com.bank.app.admission;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("AdmissionControlFilter Tests")
+class AdmissionControlFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Should answer 429 with Retry-After once a client's public budget is spent")
+    void testRateLimitedPerClient() throws Exception {
+        AdmissionControlFilter filter = new AdmissionControlFilter(
+                new ClientRateLimiter(1, 2, 64), new ClientRateLimiter(1, 2, 64), 10, "X-Client-Id", meterRegistry);
+
+        assertThat(get(filter, "/api/public/customers", "alice").getStatus()).isEqualTo(200);
+        assertThat(get(filter, "/api/public/customers", "alice").getStatus()).isEqualTo(200);
+        MockHttpServletResponse rejected = get(filter, "/api/public/customers", "alice");
+
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(get(filter, "/api/public/customers", "bob").getStatus()).isEqualTo(200);
+        assertThat(get(filter, "/api/admin/customers", "alice").getStatus()).isEqualTo(200);
+        assertThat(meterRegistry.get("customer.admission.rejected")
+                .tag("route", "public").tag("reason", "rate").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("customer.admission.admitted")
+                .tag("route", "admin").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should reject immediately when every concurrency permit is taken")
+    void testConcurrencyLimit() throws Exception {
+        AdmissionControlFilter filter = new AdmissionControlFilter(
+                new ClientRateLimiter(1000, 1000, 64), new ClientRateLimiter(1000, 1000, 64), 1, "X-Client-Id", meterRegistry);
+        AtomicInteger innerStatus = new AtomicInteger();
+
+        FilterChain holdingChain = (request, response) ->
+                innerStatus.set(get(filter, "/api/public/customers/1", "bob").getStatus());
+        filter.doFilter(request("/api/public/customers/1", "alice"), new MockHttpServletResponse(), holdingChain);
+
+        assertThat(innerStatus.get()).isEqualTo(429);
+        assertThat(filter.inFlight()).isZero();
+        assertThat(meterRegistry.get("customer.admission.rejected")
+                .tag("route", "public").tag("reason", "concurrency").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should key buckets by remote address unless a client header is configured")
+    void testIgnoresClientHeaderByDefault() {
+        AdmissionControlFilter filter = new AdmissionControlFilter(
+                new ClientRateLimiter(1, 2, 64), new ClientRateLimiter(1, 2, 64), 10, "", meterRegistry);
+
+        assertThat(get(filter, "/api/public/customers", "alice").getStatus()).isEqualTo(200);
+        assertThat(get(filter, "/api/public/customers", "bob").getStatus()).isEqualTo(200);
+        assertThat(get(filter, "/api/public/customers", "carol").getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    @DisplayName("Should keep the client's token when rejecting for concurrency")
+    void testConcurrencyRejectionKeepsToken() throws Exception {
+        AdmissionControlFilter filter = new AdmissionControlFilter(
+                new ClientRateLimiter(1, 1, 64), new ClientRateLimiter(1, 1, 64), 1, "X-Client-Id", meterRegistry);
+        AtomicInteger innerStatus = new AtomicInteger();
+
+        FilterChain holdingChain = (request, response) ->
+                innerStatus.set(get(filter, "/api/public/customers/1", "bob").getStatus());
+        filter.doFilter(request("/api/public/customers/1", "alice"), new MockHttpServletResponse(), holdingChain);
+
+        assertThat(innerStatus.get()).isEqualTo(429);
+        assertThat(get(filter, "/api/public/customers/1", "bob").getStatus()).isEqualTo(200);
+    }
+
+    private static MockHttpServletResponse get(AdmissionControlFilter filter, String uri, String clientId) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request(uri, clientId), response, (req, res) -> ((MockHttpServletResponse) res).setStatus(200));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String uri, String clientId) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.addHeader("X-Client-Id", clientId);
+        return request;
+    }
+}
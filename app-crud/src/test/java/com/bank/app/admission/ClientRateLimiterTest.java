@@ -0,0 +1,55 @@
+package com.bank.app.admission;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ClientRateLimiter Tests")
+class ClientRateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+
+    @Test
+    @DisplayName("Should admit a full burst and then reject until a token refills")
+    void testBurstThenRefill() {
+        ClientRateLimiter limiter = new ClientRateLimiter(10, 3, 16, now::get);
+
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isZero();
+        long wait = limiter.tryAcquire("a");
+        assertThat(wait).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat(limiter.exhaustedBuckets()).isEqualTo(1);
+
+        now.addAndGet(wait);
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should keep separate budgets for clients on different stripes")
+    void testClientsAreIndependent() {
+        ClientRateLimiter limiter = new ClientRateLimiter(1, 1, 1024, now::get);
+
+        assertThat(limiter.tryAcquire("client-1")).isZero();
+        assertThat(limiter.tryAcquire("client-1")).isPositive();
+        assertThat(limiter.tryAcquire("client-2")).isZero();
+        assertThat(limiter.activeBuckets()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should not bank tokens beyond the burst while idle")
+    void testIdleDoesNotAccumulate() {
+        ClientRateLimiter limiter = new ClientRateLimiter(10, 2, 16, now::get);
+        now.addAndGet(TimeUnit.HOURS.toNanos(1));
+
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isPositive();
+        assertThat(limiter.stripes()).isEqualTo(16);
+    }
+}
@@ -0,0 +1,66 @@
+package com.bank.app.audit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("AuditRingBuffer Tests")
+class AuditRingBufferTest {
+
+    @Test
+    @DisplayName("Should round capacity up to a power of two and refuse offers when full")
+    void testOffer_Full() {
+        AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(3);
+
+        assertThat(buffer.capacity()).isEqualTo(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer(i)).isTrue();
+        }
+        assertThat(buffer.offer(4)).isFalse();
+        assertThat(buffer.size()).isEqualTo(4);
+
+        assertThat(buffer.poll()).isEqualTo(0);
+        assertThat(buffer.offer(4)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should hand every element from concurrent producers to the consumer exactly once")
+    void testConcurrentProducers() throws Exception {
+        AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(64);
+        int producers = 4;
+        int perProducer = 5_000;
+
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    while (!buffer.offer(base + i)) {
+                        Thread.yield();
+                    }
+                }
+            }));
+        }
+
+        Set<Integer> seen = new HashSet<>();
+        while (seen.size() < producers * perProducer) {
+            Integer element = buffer.poll();
+            if (element != null) {
+                assertThat(seen.add(element)).isTrue();
+            } else {
+                Thread.yield();
+            }
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertThat(buffer.poll()).isNull();
+        assertThat(buffer.size()).isZero();
+    }
+}
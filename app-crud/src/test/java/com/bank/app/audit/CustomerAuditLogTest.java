@@ -0,0 +1,52 @@
+package com.bank.app.audit;
+
+import com.bank.app.CustomerAudit;
+import com.bank.app.payload.CustomerDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CustomerAuditLog Tests")
+class CustomerAuditLogTest {
+
+    @Test
+    @DisplayName("Should write every entry recorded while the log is stopping")
+    void testStop_KeepsConcurrentRecords() throws Exception {
+        AtomicInteger written = new AtomicInteger();
+        CustomerAuditLog auditLog = new CustomerAuditLog();
+        ReflectionTestUtils.setField(auditLog, "auditWriter", (AuditWriter) rows -> written.addAndGet(rows.size()));
+        ReflectionTestUtils.setField(auditLog, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(auditLog, "bufferSize", 64);
+        auditLog.init();
+        auditLog.start();
+
+        int producers = 4;
+        int perProducer = 5_000;
+        CountDownLatch started = new CountDownLatch(producers);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            threads.add(Thread.ofPlatform().start(() -> {
+                started.countDown();
+                for (int i = 0; i < perProducer; i++) {
+                    auditLog.record(CustomerAudit.Action.UPDATE, new CustomerDTO((long) i, "A", "B", "a@example.com", null, 1L));
+                }
+            }));
+        }
+        started.await();
+        auditLog.stop();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(written).hasValue(producers * perProducer);
+        assertThat(auditLog.queueDepth()).isZero();
+    }
+}
@@ -0,0 +1,207 @@
+package com.bank.app.bulk;
+
+import com.bank.app.exceptions.CustomerStatusException;
+import com.bank.app.exceptions.ResourceNotFoundException;
+import com.bank.app.payload.CustomerBulkChunk;
+import com.bank.app.payload.CustomerBulkJobResponse;
+import com.bank.app.payload.CustomerBulkJobResponse.Operation;
+import com.bank.app.payload.CustomerBulkJobResponse.Status;
+import com.bank.app.payload.CustomerBulkRequest;
+import com.bank.app.payload.CustomerIdRange;
+import com.bank.app.service.CustomerService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CustomerBulkJobs Tests")
+class CustomerBulkJobsTest {
+
+    private static final CustomerBulkRequest RENAME = new CustomerBulkRequest(null, null, Map.of("lastName", "Doe"),
+            Map.of("lastName", "Roe"), false, null);
+
+    @Mock
+    private CustomerService customerService;
+
+    private final Set<Long> updatedIds = ConcurrentHashMap.newKeySet();
+    private CustomerBulkJobs customerBulkJobs;
+
+    @AfterEach
+    void tearDown() {
+        customerBulkJobs.close();
+    }
+
+    @Test
+    @DisplayName("Should split the id span into partitions and cover every id once")
+    void testCoversWholeRange() throws Exception {
+        customerBulkJobs = new CustomerBulkJobs(customerService, 3, 4, 10, Duration.ZERO, Duration.ofHours(1));
+        when(customerService.getCustomerIdRange()).thenReturn(new CustomerIdRange(1L, 100L));
+        when(customerService.updateCustomersInRange(any(), anyLong(), anyLong(), anyInt()))
+                .thenAnswer(invocation -> chunk(invocation.getArgument(1), invocation.getArgument(2), invocation.getArgument(3)));
+
+        CustomerBulkJobResponse job = await(customerBulkJobs.start(Operation.UPDATE, RENAME));
+
+        assertThat(job.getStatus()).isEqualTo(Status.COMPLETED);
+        assertThat(job.getPartitions()).isEqualTo(4);
+        assertThat(job.getPartitionsDone()).isEqualTo(4);
+        assertThat(job.getAffected()).isEqualTo(100);
+        assertThat(job.getCheckpoint()).isNull();
+        assertThat(updatedIds).containsExactlyInAnyOrderElementsOf(ids(1, 100));
+    }
+
+    @Test
+    @DisplayName("Should keep to the requested id range")
+    void testHonoursIdRange() throws Exception {
+        customerBulkJobs = new CustomerBulkJobs(customerService, 2, 4, 10, Duration.ZERO, Duration.ofHours(1));
+        when(customerService.getCustomerIdRange()).thenReturn(new CustomerIdRange(1L, 100L));
+        when(customerService.updateCustomersInRange(any(), anyLong(), anyLong(), anyInt()))
+                .thenAnswer(invocation -> chunk(invocation.getArgument(1), invocation.getArgument(2), invocation.getArgument(3)));
+
+        await(customerBulkJobs.start(Operation.UPDATE, new CustomerBulkRequest(40L, 1000L, null, Map.of("firstName", "J"), false, null)));
+
+        assertThat(updatedIds).containsExactlyInAnyOrderElementsOf(ids(40, 100));
+    }
+
+    @Test
+    @DisplayName("Should stop a cancelled job and resume it from its checkpoint")
+    void testCancelAndResume() throws Exception {
+        customerBulkJobs = new CustomerBulkJobs(customerService, 1, 2, 10, Duration.ZERO, Duration.ofHours(1));
+        when(customerService.getCustomerIdRange()).thenReturn(new CustomerIdRange(1L, 100L));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch cancelled = new CountDownLatch(1);
+        when(customerService.updateCustomersInRange(any(), anyLong(), anyLong(), anyInt())).thenAnswer(invocation -> {
+            started.countDown();
+            cancelled.await(5, TimeUnit.SECONDS);
+            return chunk(invocation.getArgument(1), invocation.getArgument(2), invocation.getArgument(3));
+        });
+
+        CustomerBulkJobResponse running = customerBulkJobs.start(Operation.UPDATE, RENAME);
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        customerBulkJobs.cancel(running.getJobId());
+        cancelled.countDown();
+        CustomerBulkJobResponse stopped = await(running);
+
+        assertThat(stopped.getStatus()).isEqualTo(Status.CANCELLED);
+        assertThat(stopped.getAffected()).isEqualTo(10);
+        assertThat(stopped.getCheckpoint()).isNotNull();
+        assertThat(CustomerBulkJobs.decodeCheckpoint(stopped.getCheckpoint(), CustomerBulkJobs.scope(Operation.UPDATE, RENAME)))
+                .containsExactly(new CustomerBulkJobs.Range(10, 50), new CustomerBulkJobs.Range(50, 100));
+
+        CustomerBulkRequest resume = new CustomerBulkRequest(null, null, RENAME.getWhere(), RENAME.getSet(), false, stopped.getCheckpoint());
+        CustomerBulkJobResponse resumed = await(customerBulkJobs.start(Operation.UPDATE, resume));
+
+        assertThat(resumed.getStatus()).isEqualTo(Status.COMPLETED);
+        assertThat(resumed.getAffected()).isEqualTo(90);
+        assertThat(updatedIds).containsExactlyInAnyOrderElementsOf(ids(1, 100));
+    }
+
+    @Test
+    @DisplayName("Should fail the job and report where each partition stopped")
+    void testFailureKeepsCheckpoint() throws Exception {
+        customerBulkJobs = new CustomerBulkJobs(customerService, 2, 2, 10, Duration.ZERO, Duration.ofHours(1));
+        when(customerService.getCustomerIdRange()).thenReturn(new CustomerIdRange(1L, 100L));
+        when(customerService.deleteCustomersInRange(any(), anyLong(), anyLong(), anyInt())).thenAnswer(invocation -> {
+            long afterId = invocation.getArgument(1);
+            if (afterId >= 70) {
+                throw new IllegalStateException("Lock timeout");
+            }
+            return chunk(afterId, invocation.getArgument(2), invocation.getArgument(3));
+        });
+
+        CustomerBulkRequest delete = new CustomerBulkRequest(null, null, Map.of("lastName", "Doe"), null, false, null);
+        CustomerBulkJobResponse job = await(customerBulkJobs.start(Operation.DELETE, delete));
+
+        assertThat(job.getStatus()).isEqualTo(Status.FAILED);
+        assertThat(job.getError()).isEqualTo("Lock timeout");
+        assertThat(CustomerBulkJobs.decodeCheckpoint(job.getCheckpoint(), CustomerBulkJobs.scope(Operation.DELETE, delete)))
+                .contains(new CustomerBulkJobs.Range(70, 100));
+    }
+
+    @Test
+    @DisplayName("Should refuse a checkpoint taken from a different operation or filter")
+    void testCheckpointBoundToJob() {
+        customerBulkJobs = new CustomerBulkJobs(customerService, 1, 4, 10, Duration.ZERO, Duration.ofHours(1));
+        String checkpoint = CustomerBulkJobs.encodeCheckpoint(CustomerBulkJobs.scope(Operation.UPDATE, RENAME),
+                List.of(new CustomerBulkJobs.Range(10, 50)));
+
+        assertThatThrownBy(() -> customerBulkJobs.start(Operation.DELETE,
+                new CustomerBulkRequest(null, null, RENAME.getWhere(), null, false, checkpoint)))
+                .isInstanceOf(CustomerStatusException.class).hasMessageContaining("different operation or filter");
+        assertThatThrownBy(() -> customerBulkJobs.start(Operation.UPDATE,
+                new CustomerBulkRequest(null, null, Map.of("lastName", "Poe"), RENAME.getSet(), false, checkpoint)))
+                .isInstanceOf(CustomerStatusException.class).hasMessageContaining("different operation or filter");
+        assertThatThrownBy(() -> customerBulkJobs.start(Operation.UPDATE,
+                new CustomerBulkRequest(null, null, RENAME.getWhere(), Map.of("lastName", "Moe"), false, checkpoint)))
+                .isInstanceOf(CustomerStatusException.class).hasMessageContaining("different operation or filter");
+    }
+
+    @Test
+    @DisplayName("Should complete at once when no customer is in range")
+    void testEmptyRange() {
+        customerBulkJobs = new CustomerBulkJobs(customerService, 1, 4, 10, Duration.ZERO, Duration.ofHours(1));
+        when(customerService.getCustomerIdRange()).thenReturn(new CustomerIdRange(null, null));
+
+        CustomerBulkJobResponse job = customerBulkJobs.start(Operation.UPDATE, RENAME);
+
+        assertThat(job.getStatus()).isEqualTo(Status.COMPLETED);
+        assertThat(job.getPartitions()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reject requests a bulk job must not run")
+    void testRejectsInvalidRequests() {
+        customerBulkJobs = new CustomerBulkJobs(customerService, 1, 4, 10, Duration.ZERO, Duration.ofHours(1));
+
+        assertThatThrownBy(() -> customerBulkJobs.start(Operation.UPDATE,
+                new CustomerBulkRequest(null, null, null, Map.of("email", "same@example.com"), false, null)))
+                .isInstanceOf(CustomerStatusException.class).hasMessageContaining("email cannot be set in bulk");
+        assertThatThrownBy(() -> customerBulkJobs.start(Operation.UPDATE,
+                new CustomerBulkRequest(null, null, Map.of("id", "1"), Map.of("lastName", "Roe"), false, null)))
+                .isInstanceOf(CustomerStatusException.class).hasMessageContaining("Unknown field in where: id");
+        assertThatThrownBy(() -> customerBulkJobs.start(Operation.DELETE, new CustomerBulkRequest()))
+                .isInstanceOf(CustomerStatusException.class).hasMessageContaining("needs where, fromId or toId");
+        assertThatThrownBy(() -> customerBulkJobs.start(Operation.UPDATE,
+                new CustomerBulkRequest(null, null, null, null, true, "not-a-checkpoint")))
+                .isInstanceOf(CustomerStatusException.class).hasMessageContaining("Invalid checkpoint");
+        assertThatThrownBy(() -> customerBulkJobs.get("missing")).isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private CustomerBulkChunk chunk(long afterId, long toId, int limit) {
+        long lastId = Math.min(afterId + limit, toId);
+        ids(afterId + 1, lastId).forEach(id -> assertThat(updatedIds.add(id)).as("id %d done twice", id).isTrue());
+        int count = (int) (lastId - afterId);
+        return new CustomerBulkChunk(count, count, lastId, lastId >= toId);
+    }
+
+    private CustomerBulkJobResponse await(CustomerBulkJobResponse job) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (job.getStatus() == Status.RUNNING && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            job = customerBulkJobs.get(job.getJobId());
+        }
+        return job;
+    }
+
+    private static List<Long> ids(long from, long to) {
+        return LongStream.rangeClosed(from, to).boxed().toList();
+    }
+}
@@ -0,0 +1,42 @@
+package com.bank.app.cache;
+
+import com.bank.app.payload.CustomerDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CaffeineCustomerCache Tests")
+class CaffeineCustomerCacheTest {
+
+    private final CaffeineCustomerCache customerCache = new CaffeineCustomerCache(100, Duration.ofMinutes(1));
+
+    @Test
+    @DisplayName("Should not let callers change cached entries")
+    void testEntriesAreCopied() {
+        CustomerDTO stored = new CustomerDTO(1L, "John", "Doe", "john@example.com", "555-0101", 0L);
+        customerCache.put(stored);
+        stored.setFirstName("Changed");
+
+        CustomerDTO first = customerCache.get(1L);
+        first.setLastName("Changed");
+
+        assertThat(customerCache.get(1L)).isNotSameAs(first)
+                .isEqualTo(new CustomerDTO(1L, "John", "Doe", "john@example.com", "555-0101", 0L));
+    }
+
+    @Test
+    @DisplayName("Should not let a stale read replace a newer or deleted customer")
+    void testStalePutsAreIgnored() {
+        customerCache.put(new CustomerDTO(1L, "John", "Smith", "john@example.com", "555-0101", 1L));
+        customerCache.put(new CustomerDTO(1L, "John", "Doe", "john@example.com", "555-0101", 0L));
+        customerCache.put(new CustomerDTO(2L, "Jane", "Doe", "jane@example.com", "555-0102", 0L));
+        customerCache.evict(2L);
+        customerCache.put(new CustomerDTO(2L, "Jane", "Doe", "jane@example.com", "555-0102", 0L));
+
+        assertThat(customerCache.get(1L).getLastName()).isEqualTo("Smith");
+        assertThat(customerCache.get(2L)).isNull();
+    }
+}
@@ -0,0 +1,85 @@
+package com.bank.app.cache;
+
+import com.bank.app.payload.CountStrategy;
+import com.bank.app.payload.CustomerDTO;
+import com.bank.app.payload.CustomerResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CustomerPageCache Tests")
+class CustomerPageCacheTest {
+
+    private final CustomerPageCache pageCache = new CustomerPageCache(JsonMapper.builder().build(), 1 << 20,
+            Duration.ofMinutes(1), 5, 256, new SimpleMeterRegistry());
+    private final CustomerPageCache.Key key = new CustomerPageCache.Key(0, 20, CountStrategy.EXACT);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    @DisplayName("Should serve the same bytes until a write invalidates them")
+    void testHitAndInvalidate() {
+        CustomerPageCache.Page first = pageCache.get(key, this::load);
+        CustomerPageCache.Page second = pageCache.get(key, this::load);
+
+        assertThat(second).isSameAs(first);
+        assertThat(loads).hasValue(1);
+
+        pageCache.invalidate();
+        CustomerPageCache.Page third = pageCache.get(key, this::load);
+
+        assertThat(third).isNotSameAs(first);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should keep a gzip copy and a content ETag")
+    void testGzipAndETag() throws Exception {
+        CustomerPageCache.Page page = pageCache.get(key, this::load);
+
+        assertThat(page.gzip()).isNotNull();
+        assertThat(page.gzip().length).isLessThan(page.json().length);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(page.gzip()))) {
+            assertThat(in.readAllBytes()).isEqualTo(page.json());
+        }
+        assertThat(page.eTag()).startsWith("\"").endsWith("\"");
+
+        pageCache.invalidate();
+        assertThat(pageCache.get(key, this::load).eTag()).isEqualTo(page.eTag());
+    }
+
+    @Test
+    @DisplayName("Should only cache the first pages")
+    void testCachesOnlyHotPages() {
+        assertThat(pageCache.caches(4)).isTrue();
+        assertThat(pageCache.caches(5)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should read gzip support from Accept-Encoding")
+    void testAcceptsGzip() {
+        assertThat(CustomerPageCache.acceptsGzip("gzip, deflate, br")).isTrue();
+        assertThat(CustomerPageCache.acceptsGzip("br;q=1.0, *;q=0.5")).isTrue();
+        assertThat(CustomerPageCache.acceptsGzip("gzip;q=0")).isFalse();
+        assertThat(CustomerPageCache.acceptsGzip("identity")).isFalse();
+        assertThat(CustomerPageCache.acceptsGzip(null)).isFalse();
+    }
+
+    private CustomerResponse load() {
+        loads.incrementAndGet();
+        List<CustomerDTO> content = new ArrayList<>();
+        for (long i = 1; i <= 20; i++) {
+            content.add(new CustomerDTO(i, "John", "Doe", "john" + i + "@example.com", "555-0101"));
+        }
+        return new CustomerResponse(content, 0, 20, 20L, null, CountStrategy.EXACT, false);
+    }
+}
@@ -0,0 +1,115 @@
+package com.bank.app.cache;
+
+import com.bank.app.metrics.CustomerMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("SingleFlight Tests")
+class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    private final SingleFlight<Long, String> singleFlight = new SingleFlight<>();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    @DisplayName("Should run one load for concurrent callers of the same key")
+    void testConcurrentCallersShareOneLoad() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<String>> results = callConcurrently(() -> {
+            loads.incrementAndGet();
+            await(release);
+            return "customer-1";
+        }, release);
+
+        for (Future<String> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("customer-1");
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(singleFlight.leaders()).isEqualTo(1);
+        assertThat(singleFlight.followers()).isEqualTo(CALLERS - 1);
+        assertThat(singleFlight.coalescingRatio()).isEqualTo((double) (CALLERS - 1) / CALLERS);
+    }
+
+    @Test
+    @DisplayName("Should hand the leader's exception to every waiting caller")
+    void testFailurePropagates() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<String>> results = callConcurrently(() -> {
+            loads.incrementAndGet();
+            await(release);
+            throw new IllegalStateException("database down");
+        }, release);
+
+        for (Future<String> result : results) {
+            assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(IllegalStateException.class);
+        }
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should load again once the previous load has finished")
+    void testNothingKeptAfterLoad() {
+        assertThat(singleFlight.execute(1L, () -> "v" + loads.incrementAndGet())).isEqualTo("v1");
+        assertThat(singleFlight.execute(1L, () -> "v" + loads.incrementAndGet())).isEqualTo("v2");
+        assertThat(singleFlight.coalescingRatio()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should export call counts and the coalescing ratio")
+    void testMetrics() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        new CustomerMetrics(meterRegistry).registerSingleFlight("customer", singleFlight);
+        singleFlight.execute(1L, () -> "customer-1");
+
+        assertThat(meterRegistry.get("customer.coalescing.calls").tag("role", "leader").functionCounter().count())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.get("customer.coalescing.ratio").tag("name", "customer").gauge().value()).isZero();
+    }
+
+    private List<Future<String>> callConcurrently(Supplier<String> loader, CountDownLatch release)
+            throws InterruptedException {
+        List<Future<String>> results = new ArrayList<>();
+        CountDownLatch joined = new CountDownLatch(CALLERS);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(() -> {
+                    joined.countDown();
+                    return singleFlight.execute(1L, loader);
+                }));
+            }
+            assertThat(joined.await(5, TimeUnit.SECONDS)).isTrue();
+            // Give every caller time to reach the in-flight map before the leader finishes.
+            while (singleFlight.leaders() + singleFlight.followers() < CALLERS) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+        }
+        return results;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
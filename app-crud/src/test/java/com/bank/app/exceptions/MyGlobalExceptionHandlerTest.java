@@ -0,0 +1,118 @@
+package com.bank.app.exceptions;
+
+import com.bank.app.controller.CustomerController;
+import com.bank.app.metrics.CustomerMetrics;
+import com.bank.app.service.CustomerService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DisplayName("MyGlobalExceptionHandler Tests")
+class MyGlobalExceptionHandlerTest {
+
+    private final CustomerService customerService = mock(CustomerService.class);
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        MyGlobalExceptionHandler handler = new MyGlobalExceptionHandler();
+        ReflectionTestUtils.setField(handler, "customerMetrics", new CustomerMetrics(new SimpleMeterRegistry()));
+        mockMvc = MockMvcBuilders.standaloneSetup(new CustomerController(customerService))
+                .setControllerAdvice(handler)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should answer a missing customer with a compact problem body")
+    void testResourceNotFound() throws Exception {
+        when(customerService.getCustomerById(7L)).thenThrow(new ResourceNotFoundException("Customer", "customerId", 7L));
+
+        mockMvc.perform(get("/api/public/customers/7"))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(content().string(
+                        "{\"type\":\"about:blank\",\"title\":\"Not Found\",\"status\":404,\"detail\":\"Customer not found\"}"));
+    }
+
+    @Test
+    @DisplayName("Should answer status exceptions with their reason as the detail")
+    void testConflict() throws Exception {
+        when(customerService.getCustomerById(8L))
+                .thenThrow(new CustomerStatusException(HttpStatus.CONFLICT, "Customer already exists"));
+
+        mockMvc.perform(get("/api/public/customers/8"))
+                .andExpect(status().isConflict())
+                .andExpect(content().string(
+                        "{\"type\":\"about:blank\",\"title\":\"Conflict\",\"status\":409,\"detail\":\"Customer already exists\"}"));
+    }
+
+    @Test
+    @DisplayName("Should list invalid fields in the problem body")
+    void testValidationFailure() throws Exception {
+        mockMvc.perform(post("/api/admin/customers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\":\"John\",\"email\":\"not-an-email\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(result -> assertThat(result.getResponse().getContentAsString(StandardCharsets.UTF_8))
+                        .startsWith("{\"type\":\"about:blank\",\"title\":\"Bad Request\",\"status\":400,\"detail\":\"Validation failed\",\"errors\":{")
+                        .contains("\"email\":"));
+    }
+
+    @Test
+    @DisplayName("Should reject a batch lookup with a null id")
+    void testNullBatchId() throws Exception {
+        mockMvc.perform(post("/api/public/customers/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[1,null]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(
+                        "{\"type\":\"about:blank\",\"title\":\"Bad Request\",\"status\":400,\"detail\":\"ids must not contain null\"}"));
+        verifyNoInteractions(customerService);
+    }
+
+    @Test
+    @DisplayName("Should reject a batch lookup that also selects fields")
+    void testBatchIdsWithFields() throws Exception {
+        mockMvc.perform(get("/api/public/customers").param("ids", "1", "2").param("fields", "email"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(
+                        "{\"type\":\"about:blank\",\"title\":\"Bad Request\",\"status\":400,\"detail\":\"fields cannot be combined with ids\"}"));
+        verifyNoInteractions(customerService);
+    }
+
+    @Test
+    @DisplayName("Should skip stack traces for expected errors")
+    void testNoStackTrace() {
+        assertThat(new ResourceNotFoundException("Customer", "customerId", 1L).getStackTrace()).isEmpty();
+        assertThat(new CustomerStatusException(HttpStatus.NOT_FOUND, "Customer not found").getStackTrace()).isEmpty();
+        assertThat(new APIException("failed").getStackTrace()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reuse the encoded body for a repeated status and detail")
+    void testBodiesAreCached() {
+        byte[] body = ProblemBodies.of(HttpStatus.NOT_FOUND, "Customer not found");
+
+        assertThat(ProblemBodies.of(HttpStatus.NOT_FOUND, "Customer not found")).isSameAs(body);
+        assertThat(new String(ProblemBodies.of(HttpStatus.BAD_REQUEST, "Unknown field: \"x\""), StandardCharsets.UTF_8))
+                .contains("\"detail\":\"Unknown field: \\\"x\\\"\"");
+    }
+}
@@ -0,0 +1,104 @@
+package com.bank.app.idempotency;
+
+import com.bank.app.payload.CustomerDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("IdempotentRequests Tests")
+class IdempotentRequestsTest {
+
+    private final IdempotentRequests idempotentRequests =
+            new IdempotentRequests(100, Duration.ofMinutes(1), Duration.ofSeconds(5));
+    private final CustomerDTO request = new CustomerDTO(null, "John", "Doe", "john@example.com", "555-0101");
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    @DisplayName("Should replay the stored result for a repeated key")
+    void testReplay() {
+        IdempotentRequests.Result<CustomerDTO> first = idempotentRequests.execute("create", "key-1", request, this::create);
+        IdempotentRequests.Result<CustomerDTO> retry = idempotentRequests.execute("create", "key-1", request, this::create);
+
+        assertThat(first.replayed()).isFalse();
+        assertThat(retry.replayed()).isTrue();
+        assertThat(retry.value()).isSameAs(first.value());
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should reject a key reused for a different request")
+    void testDifferentRequest() {
+        idempotentRequests.execute("create", "key-1", request, this::create);
+        CustomerDTO other = new CustomerDTO(null, "Jane", "Doe", "jane@example.com", "555-0102");
+
+        assertThatThrownBy(() -> idempotentRequests.execute("create", "key-1", other, this::create))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("different request");
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should let a retry run again after the first attempt failed")
+    void testFailureFreesKey() {
+        assertThatThrownBy(() -> idempotentRequests.execute("create", "key-1", request, () -> {
+            throw new IllegalStateException("database down");
+        })).isInstanceOf(IllegalStateException.class);
+
+        IdempotentRequests.Result<CustomerDTO> retry = idempotentRequests.execute("create", "key-1", request, this::create);
+
+        assertThat(retry.replayed()).isFalse();
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should make a concurrent duplicate wait for the original instead of running again")
+    void testConcurrentDuplicateWaits() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<IdempotentRequests.Result<CustomerDTO>> original = CompletableFuture.supplyAsync(() ->
+                idempotentRequests.execute("create", "key-1", request, () -> {
+                    started.countDown();
+                    await(release);
+                    return create();
+                }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<IdempotentRequests.Result<CustomerDTO>> duplicate = CompletableFuture.supplyAsync(() ->
+                idempotentRequests.execute("create", "key-1", request, this::create));
+        Thread.sleep(50);
+        assertThat(duplicate).isNotDone();
+        release.countDown();
+
+        assertThat(duplicate.get(5, TimeUnit.SECONDS).value()).isSameAs(original.get(5, TimeUnit.SECONDS).value());
+        assertThat(duplicate.get().replayed()).isTrue();
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should reject an overlong key")
+    void testKeyTooLong() {
+        assertThatThrownBy(() -> idempotentRequests.execute("create", "k".repeat(256), request, this::create))
+                .isInstanceOf(ResponseStatusException.class);
+    }
+
+    private CustomerDTO create() {
+        return new CustomerDTO((long) calls.incrementAndGet(), "John", "Doe", "john@example.com", "555-0101");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
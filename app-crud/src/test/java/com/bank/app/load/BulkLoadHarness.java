@@ -0,0 +1,123 @@
+package com.bank.app.load;
+
+import com.bank.app.AppMainApplication;
+import com.bank.app.bulk.CustomerBulkJobs;
+import com.bank.app.payload.CustomerBulkJobResponse;
+import com.bank.app.payload.CustomerBulkRequest;
+import com.bank.app.payload.CustomerDTO;
+import com.bank.app.service.CustomerService;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs a bulk update over every customer while writers patch random customers, for each combination of chunk
+ * size and worker threads. Prints how long the job took next to the writers' latency, which is where row locks
+ * held by the bulk transactions show up. A chunk size of at least the customer count is one big transaction.
+ *
+ * Args: [chunk sizes] [worker threads] [seeded customers] [writers], e.g. "100,1000,100000 1,4 100000 8".
+ */
+public class BulkLoadHarness {
+
+    public static void main(String[] args) throws Exception {
+        int[] chunkSizes = ints(args.length > 0 ? args[0] : "100,1000,100000");
+        int[] threadCounts = ints(args.length > 1 ? args[1] : "1,4");
+        int customers = args.length > 2 ? Integer.parseInt(args[2]) : 100_000;
+        int writers = args.length > 3 ? Integer.parseInt(args[3]) : 8;
+
+        System.out.printf("%6s %7s %8s %10s %9s %10s %10s %10s %7s%n",
+                "chunk", "threads", "job ms", "rows/s", "writes", "p50 ms", "p99 ms", "max ms", "errors");
+        for (int chunkSize : chunkSizes) {
+            for (int threads : threadCounts) {
+                try (ConfigurableApplicationContext context = start(chunkSize, threads, customers)) {
+                    run(context, chunkSize, threads, customers, writers);
+                }
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(int chunkSize, int threads, int customers) {
+        ConfigurableApplicationContext context = new SpringApplication(AppMainApplication.class).run(
+                "--server.port=0",
+                "--app.admission.enabled=false",
+                "--app.bulk.chunk-size=" + chunkSize,
+                "--app.bulk.threads=" + threads,
+                "--app.bulk.partitions=" + threads * 4,
+                "--spring.datasource.url=jdbc:h2:mem:bulk-" + chunkSize + "-" + threads,
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN");
+        CustomerLoadHarness.seed(context, customers);
+        return context;
+    }
+
+    private static void run(ConfigurableApplicationContext context, int chunkSize, int threads, int customers,
+                            int writers) throws Exception {
+        CustomerService customerService = context.getBean(CustomerService.class);
+        CustomerBulkJobs customerBulkJobs = context.getBean(CustomerBulkJobs.class);
+        long minId = customerService.getCustomerIdRange().getMinId();
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong errors = new AtomicLong();
+
+        List<Future<long[]>> results = new ArrayList<>(writers);
+        CustomerBulkJobResponse job;
+        try (ExecutorService executor = Executors.newFixedThreadPool(writers)) {
+            for (int i = 0; i < writers; i++) {
+                results.add(executor.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int count = 0;
+                    while (running.get()) {
+                        long id = minId + ThreadLocalRandom.current().nextInt(customers);
+                        long start = System.nanoTime();
+                        try {
+                            customerService.patchCustomer(new CustomerDTO(null, null, null, null, "555-" + count), id, null);
+                        } catch (RuntimeException e) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = System.nanoTime() - start;
+                    }
+                    return Arrays.copyOf(latencies, count);
+                }));
+            }
+
+            job = customerBulkJobs.start(CustomerBulkJobResponse.Operation.UPDATE,
+                    new CustomerBulkRequest(null, null, null, Map.of("lastName", "Bulk"), false, null));
+            while (job.getStatus() == CustomerBulkJobResponse.Status.RUNNING) {
+                Thread.sleep(10);
+                job = customerBulkJobs.get(job.getJobId());
+            }
+            running.set(false);
+        }
+
+        long[] all = results.stream().map(BulkLoadHarness::join).flatMapToLong(Arrays::stream).sorted().toArray();
+        System.out.printf("%6d %7d %8d %10.0f %9d %10.2f %10.2f %10.2f %7d%n", chunkSize, threads, job.getElapsedMillis(),
+                job.getAffected() * 1000.0 / Math.max(1, job.getElapsedMillis()), all.length,
+                CustomerLoadHarness.percentile(all, 0.50), CustomerLoadHarness.percentile(all, 0.99),
+                all.length == 0 ? Double.NaN : all[all.length - 1] / 1_000_000.0, errors.get());
+    }
+
+    private static long[] join(Future<long[]> future) {
+        try {
+            return future.get();
+        } catch (Exception e) {
+            return new long[0];
+        }
+    }
+
+    private static int[] ints(String csv) {
+        return Arrays.stream(csv.split(",")).mapToInt(Integer::parseInt).toArray();
+    }
+}
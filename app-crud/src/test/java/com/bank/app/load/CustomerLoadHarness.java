@@ -0,0 +1,137 @@
+package com.bank.app.load;
+
+import com.bank.app.AppMainApplication;
+import com.bank.app.service.CustomerService;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.server.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop load test of GET /api/public/customers against the app running on platform threads
+ * and then on virtual threads. Each client is a virtual thread issuing requests back to back.
+ *
+ * Args: [clients, comma separated] [seconds per run] [seeded customers], e.g. "1000,5000,10000 20 10000".
+ * Raise the open file limit (ulimit -n) before running at 10k clients.
+ */
+public class CustomerLoadHarness {
+
+    public static void main(String[] args) throws Exception {
+        int[] clientCounts = Arrays.stream((args.length > 0 ? args[0] : "1000,5000,10000").split(","))
+                .mapToInt(Integer::parseInt).toArray();
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        int customers = args.length > 2 ? Integer.parseInt(args[2]) : 10_000;
+
+        printHeader("mode");
+        for (boolean virtual : new boolean[]{false, true}) {
+            try (ConfigurableApplicationContext context = start(virtual, customers)) {
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                URI uri = URI.create("http://localhost:" + port + "/api/public/customers?pageSize=20");
+                for (int clients : clientCounts) {
+                    run(virtual ? "virtual" : "platform", List.of(uri), clients, Duration.ofSeconds(seconds));
+                }
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(boolean virtual, int customers) {
+        ConfigurableApplicationContext context = new SpringApplication(AppMainApplication.class).run(
+                "--server.port=0",
+                "--server.tomcat.max-connections=20000",
+                "--spring.threads.virtual.enabled=" + virtual,
+                "--app.admission.enabled=false",
+                "--spring.datasource.url=jdbc:h2:mem:load-" + virtual,
+                "--logging.level.root=WARN");
+        seed(context, customers);
+        return context;
+    }
+
+    static void printHeader(String mode) {
+        System.out.printf("%-9s %8s %10s %12s %10s %10s %10s%n",
+                mode, "clients", "requests", "throughput/s", "p50 ms", "p99 ms", "errors");
+    }
+
+    static void seed(ConfigurableApplicationContext context, int customers) {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < customers; i++) {
+            body.append("{\"firstName\":\"First").append(i).append("\",\"email\":\"customer").append(i)
+                    .append("@example.com\"}\n");
+        }
+        context.getBean(CustomerService.class)
+                .importCustomers(new ByteArrayInputStream(body.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /** Each client cycles through the URIs, starting at a different one so the mix stays even. */
+    static void run(String mode, List<URI> uris, int clients, Duration duration) throws Exception {
+        HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        List<HttpRequest> requests = uris.stream()
+                .map(uri -> HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET().build())
+                .toList();
+        AtomicLong errors = new AtomicLong();
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        List<Future<long[]>> results = new ArrayList<>(clients);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                int first = i;
+                results.add(executor.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int count = 0;
+                    for (int next = first; System.nanoTime() < deadline; next++) {
+                        HttpRequest request = requests.get(next % requests.size());
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                                continue;
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = System.nanoTime() - start;
+                    }
+                    return Arrays.copyOf(latencies, count);
+                }));
+            }
+        }
+
+        long[] all = results.stream().map(CustomerLoadHarness::join).flatMapToLong(Arrays::stream).sorted().toArray();
+        System.out.printf("%-9s %8d %10d %12.0f %10.2f %10.2f %10d%n",
+                mode, clients, all.length, all.length / (double) duration.toSeconds(),
+                percentile(all, 0.50), percentile(all, 0.99), errors.get());
+    }
+
+    private static long[] join(Future<long[]> future) {
+        try {
+            return future.get();
+        } catch (Exception e) {
+            return new long[0];
+        }
+    }
+
+    static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return Double.NaN;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1)] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,125 @@
+package com.bank.app.load;
+
+import com.bank.app.AppMainApplication;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.server.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closed-loop load test of the database-bound read endpoints for each combination of pool size and H2 statement
+ * cache size. The customer and page caches are off, so every request reaches the pool. After each run it prints
+ * how long requests waited for a connection (hikaricp.connections.acquire) next to how long they spent in
+ * CustomerRepository (spring.data.repository.invocations).
+ *
+ * Args: [pool sizes] [statement cache sizes] [clients] [seconds per run] [seeded customers],
+ * e.g. "2,5,10,20 8,64 200 20 10000".
+ */
+public class PoolTuningLoadHarness {
+
+    public static void main(String[] args) throws Exception {
+        int[] poolSizes = ints(args.length > 0 ? args[0] : "2,5,10,20");
+        int[] statementCacheSizes = ints(args.length > 1 ? args[1] : "8,64");
+        int clients = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+        int seconds = args.length > 3 ? Integer.parseInt(args[3]) : 20;
+        int customers = args.length > 4 ? Integer.parseInt(args[4]) : 10_000;
+
+        for (int statementCacheSize : statementCacheSizes) {
+            for (int poolSize : poolSizes) {
+                try (ConfigurableApplicationContext context = start(poolSize, statementCacheSize, customers)) {
+                    int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                    MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+                    Timing acquireBefore = acquireTiming(meterRegistry);
+                    Timing repositoryBefore = repositoryTiming(meterRegistry);
+
+                    CustomerLoadHarness.printHeader("pool/stmt");
+                    CustomerLoadHarness.run("p" + poolSize + "/s" + statementCacheSize, uris(port, customers), clients,
+                            Duration.ofSeconds(seconds));
+                    Timing acquire = acquireTiming(meterRegistry);
+                    Timing repository = repositoryTiming(meterRegistry);
+                    System.out.printf("%-9s acquire mean %.3f ms max %.3f ms, repository mean %.3f ms max %.3f ms%n%n", "",
+                            acquire.meanSince(acquireBefore), acquire.maxMillis(),
+                            repository.meanSince(repositoryBefore), repository.maxMillis());
+                }
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(int poolSize, int statementCacheSize, int customers) {
+        ConfigurableApplicationContext context = new SpringApplication(AppMainApplication.class).run(
+                "--server.port=0",
+                "--app.admission.enabled=false",
+                "--app.cache.type=none",
+                "--app.page-cache.max-page=0",
+                "--spring.datasource.url=jdbc:h2:mem:pool-" + poolSize + "-" + statementCacheSize
+                        + ";QUERY_CACHE_SIZE=" + statementCacheSize,
+                "--spring.datasource.hikari.maximum-pool-size=" + poolSize,
+                "--spring.datasource.hikari.minimum-idle=" + poolSize,
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN");
+        CustomerLoadHarness.seed(context, customers);
+        return context;
+    }
+
+    /** Offset pages with and without a count, a projection, single lookups and IN lists of varying length. */
+    private static List<URI> uris(int port, int customers) {
+        String base = "http://localhost:" + port + "/api/public/customers";
+        int pages = Math.max(1, customers / 20);
+        List<URI> uris = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            long id = 1 + (long) i * customers / 8;
+            uris.add(URI.create(base + "?pageNumber=" + (i * 37 % pages) + "&pageSize=20"));
+            uris.add(URI.create(base + "?pageNumber=" + (i * 53 % pages) + "&pageSize=20&count=none"));
+            uris.add(URI.create(base + "?fields=id,email&pageNumber=" + (i * 71 % pages) + "&pageSize=20"));
+            uris.add(URI.create(base + "/" + id));
+            StringBuilder ids = new StringBuilder().append(id);
+            for (int j = 1; j <= i + 2; j++) {
+                ids.append(',').append(id + j);
+            }
+            uris.add(URI.create(base + "?ids=" + ids));
+        }
+        return uris;
+    }
+
+    private static int[] ints(String csv) {
+        return Arrays.stream(csv.split(",")).mapToInt(Integer::parseInt).toArray();
+    }
+
+    private static Timing acquireTiming(MeterRegistry meterRegistry) {
+        return timing(meterRegistry.get("hikaricp.connections.acquire").timers());
+    }
+
+    /** Summed over the per-method timers. */
+    private static Timing repositoryTiming(MeterRegistry meterRegistry) {
+        return timing(meterRegistry.get("spring.data.repository.invocations").tag("repository", "CustomerRepository").timers());
+    }
+
+    private static Timing timing(Collection<Timer> timers) {
+        long count = 0;
+        double totalNanos = 0;
+        double maxMillis = 0;
+        for (Timer timer : timers) {
+            count += timer.count();
+            totalNanos += timer.totalTime(TimeUnit.NANOSECONDS);
+            maxMillis = Math.max(maxMillis, timer.max(TimeUnit.MILLISECONDS));
+        }
+        return new Timing(count, totalNanos, maxMillis);
+    }
+
+    private record Timing(long count, double totalNanos, double maxMillis) {
+
+        double meanSince(Timing before) {
+            long calls = count - before.count;
+            return calls == 0 ? 0 : (totalNanos - before.totalNanos) / calls / 1_000_000.0;
+        }
+    }
+}
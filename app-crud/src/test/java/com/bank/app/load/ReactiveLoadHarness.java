@@ -0,0 +1,61 @@
+package com.bank.app.load;
+
+import com.bank.app.AppMainApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.server.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Closed-loop load test of the blocking customer reads against their reactive counterparts, on the same server
+ * and database: lookups by id and offset pages. The customer and page caches are off, so both go to the database.
+ *
+ * Args: [clients, comma separated] [seconds per run] [seeded customers] [Tomcat threads], e.g. "50,500 20 10000 200".
+ */
+public class ReactiveLoadHarness {
+
+    public static void main(String[] args) throws Exception {
+        int[] clientCounts = Arrays.stream((args.length > 0 ? args[0] : "50,500").split(","))
+                .mapToInt(Integer::parseInt).toArray();
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        int customers = args.length > 2 ? Integer.parseInt(args[2]) : 10_000;
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : 200;
+
+        try (ConfigurableApplicationContext context = new SpringApplication(AppMainApplication.class).run(
+                "--server.port=0",
+                "--server.tomcat.threads.max=" + threads,
+                "--app.admission.enabled=false",
+                "--app.cache.type=none",
+                "--app.page-cache.max-page=0",
+                "--spring.datasource.url=jdbc:h2:mem:reactive-load",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN")) {
+            CustomerLoadHarness.seed(context, customers);
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+
+            CustomerLoadHarness.printHeader("api");
+            for (int clients : clientCounts) {
+                CustomerLoadHarness.run("blocking", uris(port, "/api/public/customers", customers), clients,
+                        Duration.ofSeconds(seconds));
+                CustomerLoadHarness.run("reactive", uris(port, "/api/public/reactive/customers", customers), clients,
+                        Duration.ofSeconds(seconds));
+            }
+        }
+    }
+
+    private static List<URI> uris(int port, String path, int customers) {
+        String base = "http://localhost:" + port + path;
+        int pages = Math.max(1, customers / 20);
+        List<URI> uris = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            uris.add(URI.create(base + "/" + (1 + (long) i * customers / 16)));
+            uris.add(URI.create(base + "?pageNumber=" + (i * 37 % pages) + "&pageSize=20&count=none"));
+        }
+        return uris;
+    }
+}
@@ -0,0 +1,48 @@
+package com.bank.app.mapper;
+
+import com.bank.app.Customer;
+import com.bank.app.payload.CustomerDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CustomerMapper Tests")
+class CustomerMapperTest {
+
+    private final CustomerMapper directMapper = new DirectCustomerMapper();
+    private final CustomerMapper modelMapperMapper = new ModelMapperCustomerMapper(new ModelMapper());
+
+    @Test
+    @DisplayName("Direct mapper should produce the same DTO as ModelMapper")
+    void testToDto_MatchesModelMapper() {
+        Customer customer = new Customer(1L, "John", "Doe", "john@example.com", "555-0101");
+
+        assertThat(directMapper.toDto(customer)).isEqualTo(modelMapperMapper.toDto(customer));
+    }
+
+    @Test
+    @DisplayName("Direct mapper should produce the same entity as ModelMapper")
+    void testToEntity_MatchesModelMapper() {
+        CustomerDTO customerDTO = new CustomerDTO(1L, "John", "Doe", "john@example.com", "555-0101");
+
+        assertThat(directMapper.toEntity(customerDTO))
+            .usingRecursiveComparison()
+            .isEqualTo(modelMapperMapper.toEntity(customerDTO));
+    }
+
+    @Test
+    @DisplayName("Bulk mapping should keep order")
+    void testToDtoList() {
+        List<Customer> customers = List.of(
+            new Customer(1L, "John", "Doe", "john@example.com", "555-0101"),
+            new Customer(2L, "Jane", "Smith", "jane@example.com", "555-0102"));
+
+        List<CustomerDTO> result = directMapper.toDtoList(customers);
+
+        assertThat(result).extracting(CustomerDTO::getId).containsExactly(1L, 2L);
+    }
+}
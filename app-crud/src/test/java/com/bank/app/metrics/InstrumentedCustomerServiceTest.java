@@ -0,0 +1,55 @@
+package com.bank.app.metrics;
+
+import com.bank.app.exceptions.ResourceNotFoundException;
+import com.bank.app.payload.CustomerDTO;
+import com.bank.app.service.CustomerService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("InstrumentedCustomerService Tests")
+class InstrumentedCustomerServiceTest {
+
+    @Mock
+    private CustomerService delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private InstrumentedCustomerService customerService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        customerService = new InstrumentedCustomerService(delegate, new CustomerMetrics(meterRegistry));
+    }
+
+    @Test
+    @DisplayName("Should time successful calls by operation")
+    void testRecordsServiceTimer() {
+        when(delegate.getCustomerById(1L)).thenReturn(new CustomerDTO(1L, "John", "Doe", "john@example.com", "555-0101"));
+
+        customerService.getCustomerById(1L);
+
+        assertThat(meterRegistry.get("customer.service").tag("operation", "get").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should count errors by exception type and still time the call")
+    void testRecordsErrorCounter() {
+        when(delegate.deleteCustomer(999L)).thenThrow(new ResourceNotFoundException("Customer", "customerId", 999L));
+
+        assertThatThrownBy(() -> customerService.deleteCustomer(999L)).isInstanceOf(ResourceNotFoundException.class);
+
+        assertThat(meterRegistry.get("customer.errors").tag("exception", "ResourceNotFoundException").counter().count())
+            .isEqualTo(1.0);
+        assertThat(meterRegistry.get("customer.service").tag("operation", "delete").timer().count()).isEqualTo(1);
+    }
+}
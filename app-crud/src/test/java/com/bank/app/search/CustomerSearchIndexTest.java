@@ -0,0 +1,122 @@
+package com.bank.app.search;
+
+import com.bank.app.payload.CustomerDTO;
+import com.bank.app.repository.CustomerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("CustomerSearchIndex Tests")
+class CustomerSearchIndexTest {
+
+    private CustomerSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new CustomerSearchIndex();
+        index.index(new CustomerDTO(1L, "John", "Doe", "john.doe@example.com", "555-0101"));
+        index.index(new CustomerDTO(2L, "Johnny", "Walker", "jw@example.com", "555-0199"));
+        index.index(new CustomerDTO(3L, "Jane", "Johnson", "jane@example.org", "(555) 777-0101"));
+    }
+
+    @Test
+    @DisplayName("Should rank exact token matches above prefix matches")
+    void testSearch_RanksExactFirst() {
+        CustomerSearchIndex.Hits hits = index.search("john", 0, 10);
+
+        assertThat(hits.ids()).containsExactly(1L, 2L, 3L);
+        assertThat(hits.total()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should require every term to match")
+    void testSearch_AllTermsMustMatch() {
+        assertThat(index.search("jo wal", 0, 10).ids()).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("Should match phone numbers by prefix or last four digits, ignoring punctuation")
+    void testSearch_Phone() {
+        assertThat(index.search("0101", 0, 10).ids()).containsExactly(1L, 3L);
+        assertThat(index.search("555-77", 0, 10).ids()).containsExactly(3L);
+    }
+
+    @Test
+    @DisplayName("Should find names with punctuation as they were stored")
+    void testSearch_PunctuatedName() {
+        index.index(new CustomerDTO(4L, "Mary-Jane", "O'Brien", "mj@example.com", "555-0404"));
+
+        assertThat(index.search("Mary-Jane", 0, 10).ids()).containsExactly(4L);
+        assertThat(index.search("o'brien,", 0, 10).ids()).containsExactly(4L);
+    }
+
+    @Test
+    @DisplayName("Should match email prefixes case-insensitively")
+    void testSearch_Email() {
+        assertThat(index.search("JW@Ex", 0, 10).ids()).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("Should drop stale tokens on update and remove")
+    void testIndex_UpdateAndRemove() {
+        index.index(new CustomerDTO(1L, "Jack", "Doe", "jack.doe@example.com", "555-0101"));
+        assertThat(index.search("john", 0, 10).ids()).containsExactly(2L, 3L);
+
+        index.remove(2L);
+        assertThat(index.search("john", 0, 10).ids()).containsExactly(3L);
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should page through ranked hits")
+    void testSearch_Paging() {
+        CustomerSearchIndex.Hits hits = index.search("j", 1, 1);
+
+        assertThat(hits.ids()).containsExactly(2L);
+        assertThat(hits.total()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should keep the newer version when writes arrive out of order")
+    void testIndex_IgnoresOlderVersion() {
+        index.index(new CustomerDTO(4L, "Ada", "Lovelace", "ada@example.com", null, 2L));
+        index.index(new CustomerDTO(4L, "Ada", "Byron", "ada@example.com", null, 1L));
+
+        assertThat(index.search("lovelace", 0, 10).ids()).containsExactly(4L);
+        assertThat(index.search("byron", 0, 10).ids()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should not let a rebuild restore removed or outdated customers")
+    void testRebuild_SkipsChangesSinceSnapshot() throws Exception {
+        CustomerRepository customerRepository = mock(CustomerRepository.class);
+        ReflectionTestUtils.setField(index, "customerRepository", customerRepository);
+        ReflectionTestUtils.setField(index, "rebuildThreads", 1);
+        index.index(new CustomerDTO(1L, "Jack", "Doe", "jack.doe@example.com", "555-0101", 3L));
+        when(customerRepository.findMinId()).thenReturn(1L);
+        when(customerRepository.findMaxId()).thenReturn(3L);
+        // The page is read before customer 2 is deleted and before customer 1 reaches version 3.
+        when(customerRepository.findDtosBetween(anyLong(), anyLong(), any())).thenAnswer(invocation -> {
+            index.remove(2L);
+            return List.of(
+                    new CustomerDTO(1L, "John", "Doe", "john.doe@example.com", "555-0101", 2L),
+                    new CustomerDTO(2L, "Johnny", "Walker", "jw@example.com", "555-0199", 0L),
+                    new CustomerDTO(3L, "Jane", "Johnson", "jane@example.org", "(555) 777-0101", 0L));
+        });
+
+        index.rebuild();
+
+        assertThat(index.search("john", 0, 10).ids()).containsExactly(3L);
+        assertThat(index.search("jack", 0, 10).ids()).containsExactly(1L);
+        assertThat(index.size()).isEqualTo(2);
+    }
+}
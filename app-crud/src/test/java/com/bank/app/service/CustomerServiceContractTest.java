@@ -0,0 +1,244 @@
+package com.bank.app.service;
+
+import com.bank.app.exceptions.ResourceNotFoundException;
+import com.bank.app.payload.CustomerBatchResponse;
+import com.bank.app.payload.CustomerBulkChunk;
+import com.bank.app.payload.CustomerBulkRequest;
+import com.bank.app.payload.CustomerDTO;
+import com.bank.app.payload.CustomerResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Behaviour every CustomerService backend must share. Subclasses supply a service over an empty store.
+ */
+public abstract class CustomerServiceContractTest {
+
+    private static final long MISSING_ID = 999_999L;
+
+    protected CustomerService customerService;
+    protected CustomerDTO customerDTO;
+
+    protected abstract CustomerService emptyCustomerService() throws Exception;
+
+    @BeforeEach
+    void setUpCustomerService() throws Exception {
+        customerService = emptyCustomerService();
+        customerDTO = new CustomerDTO(null, "John", "Doe", "john@example.com", "555-0101");
+    }
+
+    @Test
+    @DisplayName("Should create customer when valid data is provided")
+    void testCreateCustomer_Success() {
+        CustomerDTO result = customerService.createCustomer(customerDTO);
+
+        assertThat(result.getId()).isNotNull();
+        assertThat(result.getFirstName()).isEqualTo("John");
+        assertThat(result.getVersion()).isZero();
+        assertThat(customerService.getCustomerById(result.getId())).isEqualTo(result);
+    }
+
+    @Test
+    @DisplayName("Should throw exception when customer already exists")
+    void testCreateCustomer_DuplicateCustomer() {
+        customerService.createCustomer(customerDTO);
+
+        assertThatThrownBy(() -> customerService.createCustomer(customerDTO))
+            .isInstanceOf(ResponseStatusException.class)
+            .hasMessageContaining("already exists");
+    }
+
+    @Test
+    @DisplayName("Should store email in normalized form")
+    void testCreateCustomer_NormalizesEmail() {
+        CustomerDTO mixedCaseDTO = new CustomerDTO(null, "John", "Doe", "  John@Example.COM ", "555-0101");
+
+        CustomerDTO result = customerService.createCustomer(mixedCaseDTO);
+
+        assertThat(result.getEmail()).isEqualTo("john@example.com");
+    }
+
+    @Test
+    @DisplayName("Should retrieve all customers with pagination")
+    void testGetAllCustomers_Success() {
+        customerService.createCustomer(customerDTO);
+        customerService.createCustomer(new CustomerDTO(null, "Jane", "Smith", "jane@example.com", "555-0102"));
+
+        CustomerResponse result = customerService.getAllCustomers(0, 10, null);
+
+        assertThat(result.getContent()).hasSize(2);
+        assertThat(result.getPageNumber()).isEqualTo(0);
+        assertThat(result.getPageSize()).isEqualTo(10);
+        assertThat(result.getTotalElements()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("Should throw exception when no customers found")
+    void testGetAllCustomers_Empty() {
+        assertThatThrownBy(() -> customerService.getAllCustomers(0, 10, null))
+            .isInstanceOf(ResponseStatusException.class)
+            .hasMessageContaining("not found");
+    }
+
+    @Test
+    @DisplayName("Should walk customers by cursor")
+    void testGetCustomersAfter() {
+        Long firstId = customerService.createCustomer(customerDTO).getId();
+        Long secondId = customerService.createCustomer(new CustomerDTO(null, "Jane", "Smith", "jane@example.com", "555-0102")).getId();
+
+        CustomerResponse first = customerService.getCustomersAfter(null, 1, false);
+        CustomerResponse second = customerService.getCustomersAfter(first.getNextCursor(), 1, true);
+
+        assertThat(first.getContent()).extracting(CustomerDTO::getId).containsExactly(firstId);
+        assertThat(second.getContent()).extracting(CustomerDTO::getId).containsExactly(secondId);
+        assertThat(second.getNextCursor()).isNull();
+        assertThat(second.getTotalElements()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("Should reject malformed cursor")
+    void testGetCustomersAfter_InvalidCursor() {
+        assertThatThrownBy(() -> customerService.getCustomersAfter("not-a-cursor", 10, false))
+            .isInstanceOf(ResponseStatusException.class)
+            .hasMessageContaining("Invalid cursor");
+    }
+
+    @Test
+    @DisplayName("Should throw exception when customer not found by id")
+    void testGetCustomerById_NotFound() {
+        assertThatThrownBy(() -> customerService.getCustomerById(MISSING_ID))
+            .isInstanceOf(ResponseStatusException.class)
+            .hasMessageContaining("not found");
+    }
+
+    @Test
+    @DisplayName("Should return found customers in request order and report missing ids")
+    void testGetCustomersByIds() {
+        Long firstId = customerService.createCustomer(customerDTO).getId();
+        Long secondId = customerService.createCustomer(new CustomerDTO(null, "Jane", "Smith", "jane@example.com", "555-0102")).getId();
+
+        CustomerBatchResponse result = customerService.getCustomersByIds(List.of(secondId, MISSING_ID, firstId));
+
+        assertThat(result.getContent()).extracting(CustomerDTO::getId).containsExactly(secondId, firstId);
+        assertThat(result.getMissingIds()).containsExactly(MISSING_ID);
+    }
+
+    @Test
+    @DisplayName("Should update existing customer and reject a stale version")
+    void testUpdateCustomer_Versioned() {
+        Long id = customerService.createCustomer(customerDTO).getId();
+        CustomerDTO updateDTO = new CustomerDTO(null, "John", "Smith", "john.smith@example.com", "555-0111");
+
+        CustomerDTO result = customerService.updateCustomer(updateDTO, id, 0L);
+
+        assertThat(result.getLastName()).isEqualTo("Smith");
+        assertThat(result.getVersion()).isEqualTo(1L);
+        assertThat(customerService.getCustomerById(id)).isEqualTo(result);
+        assertThatThrownBy(() -> customerService.updateCustomer(updateDTO, id, 0L))
+            .isInstanceOf(ResponseStatusException.class)
+            .hasMessageContaining("has been modified");
+    }
+
+    @Test
+    @DisplayName("Should throw exception when updating non-existent customer")
+    void testUpdateCustomer_NotFound() {
+        assertThatThrownBy(() -> customerService.updateCustomer(customerDTO, MISSING_ID, null))
+            .isInstanceOf(ResourceNotFoundException.class)
+            .hasMessageContaining("Customer");
+    }
+
+    @Test
+    @DisplayName("Should patch only provided fields")
+    void testPatchCustomer() {
+        Long id = customerService.createCustomer(customerDTO).getId();
+
+        CustomerDTO result = customerService.patchCustomer(new CustomerDTO(null, null, null, null, "555-0199"), id, null);
+
+        assertThat(result).isEqualTo(new CustomerDTO(id, "John", "Doe", "john@example.com", "555-0199", 1L));
+    }
+
+    @Test
+    @DisplayName("Should delete customer successfully")
+    void testDeleteCustomer_Success() {
+        Long id = customerService.createCustomer(customerDTO).getId();
+
+        CustomerDTO result = customerService.deleteCustomer(id);
+
+        assertThat(result.getId()).isEqualTo(id);
+        assertThatThrownBy(() -> customerService.getCustomerById(id))
+            .isInstanceOf(ResponseStatusException.class);
+    }
+
+    @Test
+    @DisplayName("Should throw exception when deleting non-existent customer")
+    void testDeleteCustomer_NotFound() {
+        assertThatThrownBy(() -> customerService.deleteCustomer(MISSING_ID))
+            .isInstanceOf(ResourceNotFoundException.class)
+            .hasMessageContaining("Customer");
+    }
+
+    @Test
+    @DisplayName("Should update matching customers of a range chunk by chunk")
+    void testUpdateCustomersInRange() {
+        List<Long> ids = createCustomers(5);
+        CustomerBulkRequest request = new CustomerBulkRequest(null, null, Map.of("lastName", "Doe"), null, true, null);
+
+        int[] counts = runChunks((after, to) -> customerService.updateCustomersInRange(request, after, to, 2),
+                ids.get(0) - 1, ids.get(3));
+
+        assertThat(counts).containsExactly(2, 2);
+        assertThat(customerService.getCustomerById(ids.get(0)).getPhoneNumber()).isEqualTo("5550101");
+        assertThat(customerService.getCustomerById(ids.get(0)).getVersion()).isEqualTo(1L);
+        assertThat(customerService.getCustomerById(ids.get(1)).getPhoneNumber()).isEqualTo("555 0101");
+        assertThat(customerService.getCustomerById(ids.get(4)).getPhoneNumber()).isEqualTo("555 0101");
+    }
+
+    @Test
+    @DisplayName("Should delete matching customers of a range")
+    void testDeleteCustomersInRange() {
+        List<Long> ids = createCustomers(4);
+        CustomerBulkRequest request = new CustomerBulkRequest(null, null, Map.of("lastName", "Doe"), null, false, null);
+
+        int[] counts = runChunks((after, to) -> customerService.deleteCustomersInRange(request, after, to, 100),
+                ids.get(0) - 1, ids.get(3));
+
+        assertThat(counts).containsExactly(2, 2);
+        assertThat(customerService.getCustomerIdRange().getMinId()).isEqualTo(ids.get(1));
+        assertThat(customerService.getCustomersByIds(ids).getMissingIds()).containsExactly(ids.get(0), ids.get(2));
+    }
+
+    // Backends may cut chunks differently, so only the totals over the whole range are compared.
+    private static int[] runChunks(BiFunction<Long, Long, CustomerBulkChunk> chunk, long after, long to) {
+        int matched = 0;
+        int affected = 0;
+        CustomerBulkChunk result;
+        do {
+            result = chunk.apply(after, to);
+            matched += result.getMatched();
+            affected += result.getAffected();
+            if (result.getLastId() != null) {
+                after = result.getLastId();
+            }
+        } while (!result.isDone());
+        return new int[]{matched, affected};
+    }
+
+    // Even positions are named Doe, odd ones Roe.
+    protected List<Long> createCustomers(int count) {
+        List<Long> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(customerService.createCustomer(new CustomerDTO(null, "John", i % 2 == 0 ? "Doe" : "Roe",
+                    "john" + i + "@example.com", "555 0101")).getId());
+        }
+        return ids;
+    }
+}
@@ -1,29 +1,47 @@
 package com.bank.app.service;
 
 import com.bank.app.Customer;
+import com.bank.app.CustomerAudit;
+import com.bank.app.audit.CustomerAuditLog;
+import com.bank.app.cache.CustomerCache;
+import com.bank.app.cache.CustomerPageCache;
 import com.bank.app.exceptions.ResourceNotFoundException;
+import com.bank.app.mapper.CustomerMapper;
+import com.bank.app.mapper.DirectCustomerMapper;
+import com.bank.app.payload.CountStrategy;
+import com.bank.app.payload.CustomerBatchResponse;
 import com.bank.app.payload.CustomerDTO;
+import com.bank.app.payload.CustomerFieldsResponse;
 import com.bank.app.payload.CustomerResponse;
 import com.bank.app.repository.CustomerRepository;
+import com.bank.app.search.CustomerSearchIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,8 +51,23 @@ class CustomerServiceImpTest {
     @Mock
     private CustomerRepository customerRepository;
 
+    @Spy
+    private CustomerMapper customerMapper = new DirectCustomerMapper();
+
+    @Mock
+    private CustomerCache customerCache;
+
+    @Mock
+    private CustomerSearchIndex customerSearchIndex;
+
+    @Mock
+    private CustomerPageCache customerPageCache;
+
     @Mock
-    private ModelMapper modelMapper;
+    private CustomerAuditLog customerAuditLog;
+
+    @Mock
+    private CustomerCounter customerCounter;
 
     @InjectMocks
     private CustomerServiceImp customerService;
@@ -51,75 +84,272 @@ class CustomerServiceImpTest {
     @Test
     @DisplayName("Should create customer when valid data is provided")
     void testCreateCustomer_Success() {
-        when(customerRepository.findByFirstName("John")).thenReturn(null);
-        when(modelMapper.map(customerDTO, Customer.class)).thenReturn(customer);
         when(customerRepository.save(any(Customer.class))).thenReturn(customer);
-        when(modelMapper.map(customer, CustomerDTO.class)).thenReturn(customerDTO);
 
         CustomerDTO result = customerService.createCustomer(customerDTO);
 
         assertThat(result).isNotNull();
         assertThat(result.getFirstName()).isEqualTo("John");
         verify(customerRepository, times(1)).save(any(Customer.class));
+        verify(customerAuditLog, times(1)).record(CustomerAudit.Action.CREATE, result);
+        verify(customerCounter, times(1)).added(1);
     }
 
     @Test
     @DisplayName("Should throw exception when customer already exists")
     void testCreateCustomer_DuplicateCustomer() {
-        when(customerRepository.findByFirstName("John")).thenReturn(customer);
-        when(modelMapper.map(customerDTO, Customer.class)).thenReturn(customer);
+        when(customerRepository.save(any(Customer.class)))
+            .thenThrow(new DataIntegrityViolationException("uk_customers_email"));
+        when(customerRepository.existsByEmail("john@example.com")).thenReturn(true);
 
         assertThatThrownBy(() -> customerService.createCustomer(customerDTO))
             .isInstanceOf(ResponseStatusException.class)
             .hasMessageContaining("already exists");
 
-        verify(customerRepository, never()).save(any());
+        verify(customerRepository, times(1)).save(any(Customer.class));
+    }
+
+    @Test
+    @DisplayName("Should store email in normalized form")
+    void testCreateCustomer_NormalizesEmail() {
+        CustomerDTO mixedCaseDTO = new CustomerDTO(null, "John", "Doe", "  John@Example.COM ", "555-0101");
+        when(customerRepository.save(any(Customer.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        CustomerDTO result = customerService.createCustomer(mixedCaseDTO);
+
+        assertThat(result.getEmail()).isEqualTo("john@example.com");
+    }
+
+    @Test
+    @DisplayName("Should rethrow integrity violations that are not duplicates")
+    void testCreateCustomer_OtherIntegrityViolation() {
+        when(customerRepository.save(any(Customer.class)))
+            .thenThrow(new DataIntegrityViolationException("not null"));
+        when(customerRepository.existsByEmail("john@example.com")).thenReturn(false);
+
+        assertThatThrownBy(() -> customerService.createCustomer(customerDTO))
+            .isInstanceOf(DataIntegrityViolationException.class);
     }
 
     @Test
     @DisplayName("Should retrieve all customers with pagination")
     void testGetAllCustomers_Success() {
-        Customer customer2 = new Customer(2L, "Jane", "Smith", "jane@example.com", "555-0102");
-        Page<Customer> customerPage = new PageImpl<>(List.of(customer, customer2));
+        CustomerDTO customerDTO1 = new CustomerDTO(1L, "John", "Doe", "john@example.com", "555-0101");
+        CustomerDTO customerDTO2 = new CustomerDTO(2L, "Jane", "Smith", "jane@example.com", "555-0102");
+        Page<CustomerDTO> customerPage = new PageImpl<>(List.of(customerDTO1, customerDTO2));
 
-        when(customerRepository.findAll(any(Pageable.class))).thenReturn(customerPage);
-        when(modelMapper.map(customer, CustomerDTO.class)).thenReturn(customerDTO);
-        when(modelMapper.map(customer2, CustomerDTO.class)).thenReturn(
-            new CustomerDTO(2L, "Jane", "Smith", "jane@example.com", "555-0102")
-        );
+        when(customerRepository.findAllDtos(any(Pageable.class))).thenReturn(customerPage);
 
-        CustomerResponse result = customerService.getAllCustomers(0, 10);
+        CustomerResponse result = customerService.getAllCustomers(0, 10, null);
 
         assertThat(result).isNotNull();
         assertThat(result.getContent()).hasSize(2);
         assertThat(result.getPageNumber()).isEqualTo(0);
         assertThat(result.getPageSize()).isEqualTo(10);
-        verify(customerRepository, times(1)).findAll(any(Pageable.class));
+        verify(customerRepository, times(1)).findAllDtos(any(Pageable.class));
+        verify(customerRepository, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Should not hand a page loaded before a write to callers after it")
+    @Timeout(10)
+    void testGetAllCustomers_WriteStartsNewLoad() throws Exception {
+        Page<CustomerDTO> stalePage = new PageImpl<>(List.of(new CustomerDTO(1L, "John", "Doe", "john@example.com", "555-0101")));
+        Page<CustomerDTO> freshPage = new PageImpl<>(List.of(new CustomerDTO(1L, "John", "Smith", "john@example.com", "555-0101")));
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(customerRepository.findAllDtos(any(Pageable.class)))
+            .thenAnswer(invocation -> {
+                loading.countDown();
+                release.await();
+                return stalePage;
+            })
+            .thenReturn(freshPage);
+        when(customerPageCache.generation()).thenReturn(0L, 1L);
+
+        CompletableFuture<CustomerResponse> before = CompletableFuture.supplyAsync(() -> customerService.getAllCustomers(0, 10, null));
+        loading.await();
+        CustomerResponse after = customerService.getAllCustomers(0, 10, null);
+        release.countDown();
+
+        assertThat(after.getContent()).extracting(CustomerDTO::getLastName).containsExactly("Smith");
+        assertThat(before.get().getContent()).extracting(CustomerDTO::getLastName).containsExactly("Doe");
     }
 
     @Test
     @DisplayName("Should throw exception when no customers found")
     void testGetAllCustomers_Empty() {
-        Page<Customer> emptyPage = new PageImpl<>(List.of());
+        Page<CustomerDTO> emptyPage = new PageImpl<>(List.of());
 
-        when(customerRepository.findAll(any(Pageable.class))).thenReturn(emptyPage);
+        when(customerRepository.findAllDtos(any(Pageable.class))).thenReturn(emptyPage);
 
-        assertThatThrownBy(() -> customerService.getAllCustomers(0, 10))
+        assertThatThrownBy(() -> customerService.getAllCustomers(0, 10, null))
             .isInstanceOf(ResponseStatusException.class)
             .hasMessageContaining("not found");
     }
 
+    @Test
+    @DisplayName("Should report hasNext without counting when count strategy is none")
+    void testGetAllCustomers_NoCount() {
+        CustomerDTO customerDTO1 = new CustomerDTO(1L, "John", "Doe", "john@example.com", "555-0101");
+        when(customerRepository.findDtoSlice(any(Pageable.class)))
+            .thenReturn(new SliceImpl<>(List.of(customerDTO1), Pageable.ofSize(1), true));
+
+        CustomerResponse result = customerService.getAllCustomers(0, 1, CountStrategy.NONE);
+
+        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.getTotalElements()).isNull();
+        assertThat(result.getHasNext()).isTrue();
+        assertThat(result.getCountStrategy()).isEqualTo(CountStrategy.NONE);
+        verify(customerRepository, never()).findAllDtos(any(Pageable.class));
+        verify(customerRepository, never()).count();
+        verifyNoInteractions(customerCounter);
+    }
+
+    @Test
+    @DisplayName("Should take the total from the maintained counter")
+    void testGetAllCustomers_MaintainedCount() {
+        CustomerDTO customerDTO1 = new CustomerDTO(1L, "John", "Doe", "john@example.com", "555-0101");
+        when(customerRepository.findDtoSlice(any(Pageable.class)))
+            .thenReturn(new SliceImpl<>(List.of(customerDTO1), Pageable.ofSize(10), false));
+        when(customerCounter.maintained()).thenReturn(42L);
+
+        CustomerResponse result = customerService.getAllCustomers(0, 10, CountStrategy.MAINTAINED);
+
+        assertThat(result.getTotalElements()).isEqualTo(42L);
+        assertThat(result.getHasNext()).isFalse();
+        assertThat(result.getCountStrategy()).isEqualTo(CountStrategy.MAINTAINED);
+        verify(customerRepository, never()).count();
+    }
+
+    @Test
+    @DisplayName("Should return next cursor when more customers follow")
+    void testGetCustomersAfter_HasNext() {
+        CustomerDTO customerDTO1 = new CustomerDTO(1L, "John", "Doe", "john@example.com", "555-0101");
+        CustomerDTO customerDTO2 = new CustomerDTO(2L, "Jane", "Smith", "jane@example.com", "555-0102");
+
+        when(customerRepository.findDtosAfter(eq(Long.MIN_VALUE), any(Limit.class)))
+            .thenReturn(List.of(customerDTO1, customerDTO2));
+
+        CustomerResponse result = customerService.getCustomersAfter(null, 1, false);
+
+        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.getTotalElements()).isNull();
+        assertThat(CustomerCursor.decode(result.getNextCursor())).isEqualTo(1L);
+        verify(customerRepository, never()).count();
+    }
+
+    @Test
+    @DisplayName("Should resume after cursor and count only when asked")
+    void testGetCustomersAfter_LastPage() {
+        CustomerDTO customerDTO2 = new CustomerDTO(2L, "Jane", "Smith", "jane@example.com", "555-0102");
+
+        when(customerRepository.findDtosAfter(eq(1L), any(Limit.class)))
+            .thenReturn(List.of(customerDTO2));
+        when(customerRepository.count()).thenReturn(2L);
+
+        CustomerResponse result = customerService.getCustomersAfter(CustomerCursor.encode(1L), 10, true);
+
+        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.getTotalElements()).isEqualTo(2L);
+        assertThat(result.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should reject malformed cursor")
+    void testGetCustomersAfter_InvalidCursor() {
+        assertThatThrownBy(() -> customerService.getCustomersAfter("not-a-cursor", 10, false))
+            .isInstanceOf(ResponseStatusException.class)
+            .hasMessageContaining("Invalid cursor");
+    }
+
+    @Test
+    @DisplayName("Should select only requested fields, id first")
+    void testGetCustomerFields_HasNext() {
+        Map<String, Object> row1 = Map.of("id", 1L, "email", "john@example.com");
+        Map<String, Object> row2 = Map.of("id", 2L, "email", "jane@example.com");
+
+        when(customerRepository.findFields(List.of("id", "email"), Long.MIN_VALUE, null, 2))
+            .thenReturn(List.of(row1, row2));
+
+        CustomerFieldsResponse result = customerService.getCustomerFields(List.of("email", "id"), null, null, 1);
+
+        assertThat(result.getContent()).containsExactly(row1);
+        assertThat(CustomerCursor.decode(result.getNextCursor())).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Should reject unknown field names")
+    void testGetCustomerFields_UnknownField() {
+        assertThatThrownBy(() -> customerService.getCustomerFields(List.of("password"), null, null, 10))
+            .isInstanceOf(ResponseStatusException.class)
+            .hasMessageContaining("Unknown field");
+
+        verifyNoInteractions(customerRepository);
+    }
+
+    @Test
+    @DisplayName("Should return search hits in ranked order")
+    void testSearchCustomers_Success() {
+        Customer customer2 = new Customer(2L, "Jane", "Smith", "jane@example.com", "555-0102");
+
+        when(customerSearchIndex.search("jo", 0, 10)).thenReturn(new CustomerSearchIndex.Hits(List.of(2L, 1L), 2));
+        when(customerRepository.findAllById(List.of(2L, 1L))).thenReturn(List.of(customer, customer2));
+
+        CustomerResponse result = customerService.searchCustomers("jo", 0, 10);
+
+        assertThat(result.getContent()).extracting(CustomerDTO::getId).containsExactly(2L, 1L);
+        assertThat(result.getTotalElements()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("Should reject blank search query")
+    void testSearchCustomers_BlankQuery() {
+        assertThatThrownBy(() -> customerService.searchCustomers("  ", 0, 10))
+            .isInstanceOf(ResponseStatusException.class)
+            .hasMessageContaining("must not be blank");
+
+        verifyNoInteractions(customerSearchIndex);
+    }
+
     @Test
     @DisplayName("Should retrieve customer by id")
     void testGetCustomerById_Success() {
         when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
-        when(modelMapper.map(customer, CustomerDTO.class)).thenReturn(customerDTO);
 
         CustomerDTO result = customerService.getCustomerById(1L);
 
         assertThat(result).isNotNull();
         assertThat(result.getFirstName()).isEqualTo("John");
         verify(customerRepository, times(1)).findById(1L);
+        verify(customerCache, times(1)).put(result);
+    }
+
+    @Test
+    @DisplayName("Should serve cached customer without hitting the repository")
+    void testGetCustomerById_CacheHit() {
+        CustomerDTO cachedDTO = new CustomerDTO(1L, "John", "Doe", "john@example.com", "555-0101");
+        when(customerCache.get(1L)).thenReturn(cachedDTO);
+
+        CustomerDTO result = customerService.getCustomerById(1L);
+
+        assertThat(result).isSameAs(cachedDTO);
+        verify(customerRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Should resolve many ids in request order and report missing ones")
+    void testGetCustomersByIds() {
+        Customer customer3 = new Customer(3L, "Robert", "Johnson", "robert@example.com", "555-0103");
+        CustomerDTO cachedDTO = new CustomerDTO(2L, "Jane", "Smith", "jane@example.com", "555-0102");
+        when(customerCache.get(any())).thenAnswer(invocation -> invocation.getArgument(0).equals(2L) ? cachedDTO : null);
+        when(customerRepository.findAllById(List.of(3L, 1L, 4L))).thenReturn(List.of(customer, customer3));
+
+        CustomerBatchResponse result = customerService.getCustomersByIds(List.of(3L, 2L, 1L, 4L, 3L));
+
+        assertThat(result.getContent()).extracting(CustomerDTO::getId).containsExactly(3L, 2L, 1L);
+        assertThat(result.getMissingIds()).containsExactly(4L);
+        verify(customerRepository, times(1)).findAllById(any());
     }
 
     @Test
@@ -141,11 +371,8 @@ class CustomerServiceImpTest {
 
         when(customerRepository.findById(1L)).thenReturn(Optional.of(existingCustomer));
         when(customerRepository.save(any(Customer.class))).thenReturn(updatedCustomer);
-        when(modelMapper.map(updatedCustomer, CustomerDTO.class)).thenReturn(
-            new CustomerDTO(1L, "John", "Smith", "john.smith@example.com", "555-0111")
-        );
 
-        CustomerDTO result = customerService.updateCustomer(updateDTO, 1L);
+        CustomerDTO result = customerService.updateCustomer(updateDTO, 1L, null);
 
         assertThat(result).isNotNull();
         assertThat(result.getLastName()).isEqualTo("Smith");
@@ -157,21 +384,77 @@ class CustomerServiceImpTest {
     void testUpdateCustomer_NotFound() {
         when(customerRepository.findById(999L)).thenReturn(Optional.empty());
 
-        assertThatThrownBy(() -> customerService.updateCustomer(customerDTO, 999L))
+        assertThatThrownBy(() -> customerService.updateCustomer(customerDTO, 999L, null))
             .isInstanceOf(ResourceNotFoundException.class)
             .hasMessageContaining("Customer");
     }
 
+    @Test
+    @DisplayName("Should update in one statement when the expected version is given")
+    void testUpdateCustomer_ConditionalSuccess() {
+        CustomerDTO updateDTO = new CustomerDTO(null, "John", "Smith", "John.Smith@example.com", "555-0111");
+
+        when(customerRepository.updateIfVersion(1L, 3L, "John", "Smith", "john.smith@example.com", "555-0111")).thenReturn(1);
+
+        CustomerDTO result = customerService.updateCustomer(updateDTO, 1L, 3L);
+
+        assertThat(result.getVersion()).isEqualTo(4L);
+        assertThat(result.getEmail()).isEqualTo("john.smith@example.com");
+        verify(customerRepository, never()).findById(any());
+        verify(customerCache, times(1)).put(result);
+    }
+
+    @Test
+    @DisplayName("Should reject update against a stale version")
+    void testUpdateCustomer_StaleVersion() {
+        when(customerRepository.updateIfVersion(eq(1L), eq(3L), any(), any(), any(), any())).thenReturn(0);
+        when(customerRepository.existsById(1L)).thenReturn(true);
+
+        assertThatThrownBy(() -> customerService.updateCustomer(customerDTO, 1L, 3L))
+            .isInstanceOf(ResponseStatusException.class)
+            .hasMessageContaining("has been modified");
+
+        verify(customerCache, never()).put(any());
+        verifyNoInteractions(customerAuditLog);
+    }
+
+    @Test
+    @DisplayName("Should patch only provided fields and build the result from the cached copy")
+    void testPatchCustomer_FromCache() {
+        CustomerDTO cached = new CustomerDTO(1L, "John", "Doe", "john@example.com", "555-0101", 3L);
+        CustomerDTO patchDTO = new CustomerDTO(null, null, null, null, "555-0199");
+
+        when(customerRepository.updateFields(1L, 3L, Map.of("phoneNumber", "555-0199"))).thenReturn(1);
+        when(customerCache.get(1L)).thenReturn(cached);
+
+        CustomerDTO result = customerService.patchCustomer(patchDTO, 1L, 3L);
+
+        assertThat(result).isEqualTo(new CustomerDTO(1L, "John", "Doe", "john@example.com", "555-0199", 4L));
+        verify(customerRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Should reject an empty patch")
+    void testPatchCustomer_NoChanges() {
+        assertThatThrownBy(() -> customerService.patchCustomer(new CustomerDTO(), 1L, null))
+            .isInstanceOf(ResponseStatusException.class)
+            .hasMessageContaining("No fields");
+
+        verifyNoInteractions(customerRepository);
+    }
+
     @Test
     @DisplayName("Should delete customer successfully")
     void testDeleteCustomer_Success() {
         when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
-        when(modelMapper.map(customer, CustomerDTO.class)).thenReturn(customerDTO);
 
         CustomerDTO result = customerService.deleteCustomer(1L);
 
         assertThat(result).isNotNull();
         verify(customerRepository, times(1)).delete(customer);
+        verify(customerCache, times(1)).evict(1L);
+        verify(customerSearchIndex, times(1)).remove(1L);
+        verify(customerAuditLog, times(1)).record(CustomerAudit.Action.DELETE, result);
     }
 
     @Test
@@ -0,0 +1,109 @@
+package com.bank.app.service;
+
+import com.bank.app.CustomerAudit;
+import com.bank.app.audit.CustomerAuditLog;
+import com.bank.app.cache.CustomerPageCache;
+import com.bank.app.payload.CustomerBulkRequest;
+import com.bank.app.payload.CustomerDTO;
+import com.bank.app.search.CustomerSearchIndex;
+import com.bank.app.storage.MappedCustomerStore;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MappedCustomerService Tests")
+class MappedCustomerServiceTest extends CustomerServiceContractTest {
+
+    @TempDir
+    Path directory;
+
+    @Mock
+    private CustomerSearchIndex customerSearchIndex;
+
+    @Mock
+    private CustomerPageCache customerPageCache;
+
+    @Mock
+    private CustomerAuditLog customerAuditLog;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @InjectMocks
+    private MappedCustomerService mappedCustomerService;
+
+    private MappedCustomerStore customerStore;
+
+    @Override
+    protected CustomerService emptyCustomerService() throws Exception {
+        customerStore = MappedCustomerStore.open(directory.resolve("customers.log"), 16, 0.5);
+        ReflectionTestUtils.setField(mappedCustomerService, "customerStore", customerStore);
+        return mappedCustomerService;
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        customerStore.close();
+    }
+
+    @Test
+    @DisplayName("Should index and audit a created customer")
+    void testCreateCustomer_IndexedAndAudited() {
+        CustomerDTO result = customerService.createCustomer(customerDTO);
+
+        verify(customerSearchIndex, times(1)).index(result);
+        verify(customerAuditLog, times(1)).record(CustomerAudit.Action.CREATE, result);
+        verify(customerPageCache, times(1)).invalidate();
+    }
+
+    @Test
+    @DisplayName("Should unindex and audit a deleted customer")
+    void testDeleteCustomer_UnindexedAndAudited() {
+        Long id = customerService.createCustomer(customerDTO).getId();
+
+        CustomerDTO result = customerService.deleteCustomer(id);
+
+        verify(customerSearchIndex, times(1)).remove(id);
+        verify(customerAuditLog, times(1)).record(CustomerAudit.Action.DELETE, result);
+    }
+
+    @Test
+    @DisplayName("Should audit only the customers a bulk update changed")
+    void testUpdateCustomersInRange_Audited() {
+        List<Long> ids = createCustomers(5);
+        CustomerBulkRequest request = new CustomerBulkRequest(null, null, Map.of("lastName", "Doe"), null, true, null);
+
+        customerService.updateCustomersInRange(request, ids.get(0) - 1, ids.get(4), 10);
+
+        verify(customerAuditLog, times(3)).record(eq(CustomerAudit.Action.UPDATE), any());
+    }
+
+    @Test
+    @DisplayName("Should unindex customers removed by a bulk delete")
+    void testDeleteCustomersInRange_Unindexed() {
+        List<Long> ids = createCustomers(4);
+        CustomerBulkRequest request = new CustomerBulkRequest(null, null, Map.of("lastName", "Doe"), null, false, null);
+
+        customerService.deleteCustomersInRange(request, ids.get(0) - 1, ids.get(3), 100);
+
+        verify(customerSearchIndex, times(1)).remove(ids.get(0));
+        verify(customerSearchIndex, times(1)).remove(ids.get(2));
+        verify(customerPageCache, atLeastOnce()).invalidate();
+    }
+}
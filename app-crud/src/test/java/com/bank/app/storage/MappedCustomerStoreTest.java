@@ -0,0 +1,282 @@
+package com.bank.app.storage;
+
+import com.bank.app.payload.CustomerDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("MappedCustomerStore Tests")
+class MappedCustomerStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private Path file;
+    private MappedCustomerStore store;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        file = directory.resolve("customers.log");
+        store = MappedCustomerStore.open(file, 8, 0.5);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        store.close();
+    }
+
+    @Test
+    @DisplayName("Should assign ids and reject a second customer with the same email")
+    void testInsert() throws Exception {
+        MappedCustomerStore.WriteResult first = store.insert(customer("john@example.com"));
+        MappedCustomerStore.WriteResult second = store.insert(customer("john@example.com"));
+
+        assertThat(first.status()).isEqualTo(MappedCustomerStore.Status.OK);
+        assertThat(first.customer().getId()).isEqualTo(1L);
+        assertThat(first.customer().getVersion()).isZero();
+        assertThat(second.status()).isEqualTo(MappedCustomerStore.Status.DUPLICATE_EMAIL);
+        assertThat(store.get(1L)).isEqualTo(first.customer());
+    }
+
+    @Test
+    @DisplayName("Should bump the version on update and refuse a stale one")
+    void testUpdate() throws Exception {
+        long id = store.insert(customer("john@example.com")).customer().getId();
+
+        MappedCustomerStore.WriteResult updated = store.update(id, 0L, current -> withLastName(current, "Smith"));
+        MappedCustomerStore.WriteResult stale = store.update(id, 0L, current -> withLastName(current, "Lost"));
+
+        assertThat(updated.customer().getVersion()).isEqualTo(1L);
+        assertThat(stale.status()).isEqualTo(MappedCustomerStore.Status.VERSION_MISMATCH);
+        assertThat(store.get(id).getLastName()).isEqualTo("Smith");
+        assertThat(store.update(99L, null, current -> current).status()).isEqualTo(MappedCustomerStore.Status.NOT_FOUND);
+    }
+
+    @Test
+    @DisplayName("Should free the email of a deleted customer")
+    void testDelete() throws Exception {
+        long id = store.insert(customer("john@example.com")).customer().getId();
+
+        assertThat(store.delete(id)).isNotNull();
+        assertThat(store.get(id)).isNull();
+        assertThat(store.delete(id)).isNull();
+        assertThat(store.insert(customer("john@example.com")).status()).isEqualTo(MappedCustomerStore.Status.OK);
+    }
+
+    @Test
+    @DisplayName("Should page in id order across segments")
+    void testPaging() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            store.insert(customer("c" + i + "@example.com"));
+        }
+        store.delete(3L);
+
+        assertThat(store.page(0, 3)).extracting(CustomerDTO::getId).containsExactly(1L, 2L, 4L);
+        assertThat(store.page(17, 5)).extracting(CustomerDTO::getId).containsExactly(19L, 20L);
+        assertThat(store.after(18L, 5)).extracting(CustomerDTO::getId).containsExactly(19L, 20L);
+        assertThat(store.size()).isEqualTo(19);
+    }
+
+    @Test
+    @DisplayName("Should rebuild the same state by replaying the log")
+    void testReplay() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            store.insert(customer("c" + i + "@example.com"));
+        }
+        store.update(5L, null, current -> withLastName(current, "Replayed"));
+        store.delete(6L);
+        store.close();
+
+        store = MappedCustomerStore.open(file, 8, 0.5);
+
+        assertThat(store.size()).isEqualTo(19);
+        assertThat(store.get(5L).getLastName()).isEqualTo("Replayed");
+        assertThat(store.get(5L).getVersion()).isEqualTo(1L);
+        assertThat(store.get(6L)).isNull();
+        assertThat(store.insert(customer("new@example.com")).customer().getId()).isEqualTo(21L);
+    }
+
+    @Test
+    @DisplayName("Should stop replay at a torn record and drop everything after it")
+    void testTornRecord() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            store.insert(customer("c" + i + "@example.com"));
+        }
+        store.close();
+
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.seek(2L * MappedCustomerStore.RECORD_SIZE + 40);
+            raf.write(0x7f);
+        }
+        store = MappedCustomerStore.open(file, 8, 0.5);
+
+        assertThat(store.size()).isEqualTo(2);
+        assertThat(store.get(4L)).isNull();
+        store.insert(customer("after@example.com"));
+        store.close();
+
+        store = MappedCustomerStore.open(file, 8, 0.5);
+        assertThat(store.page(0, 10)).extracting(CustomerDTO::getEmail)
+                .containsExactly("c0@example.com", "c1@example.com", "after@example.com");
+    }
+
+    @Test
+    @DisplayName("Should keep live customers and shrink the log when compacting")
+    void testCompaction() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            store.insert(customer("c" + i + "@example.com"));
+        }
+        for (long id = 1; id <= 10; id++) {
+            store.update(id, null, current -> withLastName(current, "Again"));
+        }
+        for (long id = 1; id <= 4; id++) {
+            store.delete(id);
+        }
+
+        assertThat(store.compactIfNeeded()).isTrue();
+        assertThat(store.deadRecords()).isZero();
+        assertThat(Files.exists(directory.resolve("customers.log.compact"))).isFalse();
+
+        store.update(5L, 1L, current -> withLastName(current, "Compacted"));
+        store.close();
+        store = MappedCustomerStore.open(file, 8, 0.5);
+
+        assertThat(store.size()).isEqualTo(6);
+        assertThat(store.get(5L).getLastName()).isEqualTo("Compacted");
+        assertThat(store.get(10L).getLastName()).isEqualTo("Again");
+        assertThat(store.compactIfNeeded()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should not reuse ids of deleted customers after compacting and reopening")
+    void testIdsSurviveCompaction() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            store.insert(customer("c" + i + "@example.com"));
+        }
+        store.delete(4L);
+        store.delete(5L);
+        store.compact();
+        store.close();
+
+        store = MappedCustomerStore.open(file, 8, 0.5);
+
+        assertThat(store.size()).isEqualTo(3);
+        assertThat(store.insert(customer("new@example.com")).customer().getId()).isEqualTo(6L);
+    }
+
+    @Test
+    @DisplayName("Should keep serving the old log when the compacted file cannot be renamed into place")
+    void testCompactionRenameFails() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            store.insert(customer("c" + i + "@example.com"));
+        }
+        store.delete(1L);
+        store.logMover = (source, target) -> {
+            throw new IOException("rename refused");
+        };
+
+        assertThatThrownBy(store::compact).isInstanceOf(IOException.class).hasMessage("rename refused");
+
+        assertThat(Files.exists(directory.resolve("customers.log.compact"))).isFalse();
+        assertThat(store.get(2L).getEmail()).isEqualTo("c1@example.com");
+        store.update(2L, 0L, current -> withLastName(current, "After"));
+        long id = store.insert(customer("late@example.com")).customer().getId();
+        store.close();
+        store = MappedCustomerStore.open(file, 8, 0.5);
+
+        assertThat(store.size()).isEqualTo(10);
+        assertThat(store.get(2L).getLastName()).isEqualTo("After");
+        assertThat(store.get(id).getEmail()).isEqualTo("late@example.com");
+    }
+
+    @Test
+    @DisplayName("Should compact over a file left behind by a failed compaction")
+    void testCompactionAfterLeftoverFile() throws Exception {
+        store.insert(customer("john@example.com"));
+        store.delete(1L);
+        Files.writeString(directory.resolve("customers.log.compact"), "partial");
+
+        store.compact();
+
+        assertThat(store.deadRecords()).isZero();
+        assertThat(Files.exists(directory.resolve("customers.log.compact"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should serve concurrent reads and syncs right after compacting")
+    void testConcurrentReadsAfterCompaction() throws Exception {
+        for (int i = 0; i < 400; i++) {
+            store.insert(customer("c" + i + "@example.com"));
+        }
+        for (long id = 1; id <= 400; id += 2) {
+            store.delete(id);
+        }
+        store.compact();
+
+        int readers = 8;
+        CyclicBarrier barrier = new CyclicBarrier(readers + 1);
+        ExecutorService executor = Executors.newFixedThreadPool(readers + 1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int r = 0; r < readers; r++) {
+                int first = r;
+                futures.add(executor.submit(() -> {
+                    barrier.await();
+                    // Each reader walks the slots in a different order so they touch unmapped segments at once.
+                    for (long id = 400 - first * 2; id >= 2; id -= 2) {
+                        assertThat(store.get(id).getEmail()).isEqualTo("c" + (id - 1) + "@example.com");
+                    }
+                    return null;
+                }));
+            }
+            futures.add(executor.submit(() -> {
+                barrier.await();
+                for (int i = 0; i < 50; i++) {
+                    store.sync();
+                }
+                return null;
+            }));
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(store.page(0, 1000)).hasSize(200);
+    }
+
+    @Test
+    @DisplayName("Should reject fields longer than the fixed record layout allows")
+    void testFieldTooLong() {
+        CustomerDTO customerDTO = new CustomerDTO(null, "x".repeat(65), "Doe", "long@example.com", "555-0101");
+
+        assertThatThrownBy(() -> store.insert(customerDTO))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("firstName");
+    }
+
+    private static CustomerDTO customer(String email) {
+        return new CustomerDTO(null, "John", "Doe", email, "555-0101");
+    }
+
+    private static CustomerDTO withLastName(CustomerDTO customerDTO, String lastName) {
+        return new CustomerDTO(customerDTO.getId(), customerDTO.getFirstName(), lastName,
+                customerDTO.getEmail(), customerDTO.getPhoneNumber());
+    }
+}
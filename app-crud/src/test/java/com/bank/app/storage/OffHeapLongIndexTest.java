@@ -0,0 +1,49 @@
+package com.bank.app.storage;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("OffHeapLongIndex Tests")
+class OffHeapLongIndexTest {
+
+    @Test
+    @DisplayName("Should agree with a HashMap across random puts, overwrites and removes")
+    void testMatchesHashMap() {
+        OffHeapLongIndex index = new OffHeapLongIndex(4);
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 200_000; i++) {
+            long key = 1 + random.nextInt(20_000);
+            if (random.nextInt(3) == 0) {
+                assertThat(index.remove(key)).isEqualTo(expected.remove(key) != null);
+            } else {
+                long value = random.nextLong(1_000_000);
+                index.put(key, value);
+                expected.put(key, value);
+            }
+        }
+
+        assertThat(index.size()).isEqualTo(expected.size());
+        for (long key = 1; key <= 20_000; key++) {
+            assertThat(index.get(key)).isEqualTo(expected.getOrDefault(key, -1L));
+        }
+    }
+
+    @Test
+    @DisplayName("Should start empty again after clear")
+    void testClear() {
+        OffHeapLongIndex index = new OffHeapLongIndex(16);
+        index.put(7L, 70L);
+        index.clear();
+
+        assertThat(index.size()).isZero();
+        assertThat(index.get(7L)).isEqualTo(-1L);
+    }
+}
@@ -0,0 +1,41 @@
+package com.java.bankapp;
+
+import com.bank.app.AppMainApplication;
+import com.bank.app.CustomerAudit;
+import com.bank.app.payload.CustomerDTO;
+import com.bank.app.repository.CustomerAuditRepository;
+import com.bank.app.service.CustomerService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = AppMainApplication.class)
+public class CustomerAuditLogTest {
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private CustomerAuditRepository customerAuditRepository;
+
+    @Test
+    void recordsEveryWriteInOrder() throws Exception {
+        CustomerDTO created = customerService.createCustomer(new CustomerDTO(null, "Edsger", "D", "edsger@audit.example.com", "555-0601"));
+        customerService.patchCustomer(new CustomerDTO(null, null, "Dijkstra", null, null), created.getId(), null);
+        customerService.deleteCustomer(created.getId());
+
+        List<CustomerAudit> entries = List.of();
+        for (int i = 0; i < 50 && entries.size() < 3; i++) {
+            Thread.sleep(100);
+            entries = customerAuditRepository.findByCustomerIdOrderByIdAsc(created.getId());
+        }
+
+        assertThat(entries).extracting(CustomerAudit::getAction)
+                .containsExactly(CustomerAudit.Action.CREATE, CustomerAudit.Action.UPDATE, CustomerAudit.Action.DELETE);
+        assertThat(entries).extracting(CustomerAudit::getCustomerVersion).containsExactly(0L, 1L, 1L);
+    }
+}
@@ -0,0 +1,111 @@
+package com.java.bankapp;
+
+import com.bank.app.AppMainApplication;
+import com.bank.app.bulk.CustomerBulkJobs;
+import com.bank.app.exceptions.CustomerStatusException;
+import com.bank.app.payload.CustomerBulkJobResponse;
+import com.bank.app.payload.CustomerBulkJobResponse.Operation;
+import com.bank.app.payload.CustomerBulkJobResponse.Status;
+import com.bank.app.payload.CustomerBulkRequest;
+import com.bank.app.payload.CustomerDTO;
+import com.bank.app.service.CustomerService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(classes = AppMainApplication.class,
+        properties = {"app.bulk.chunk-size=7", "app.bulk.partitions=3", "spring.datasource.url=jdbc:h2:mem:bulk-tests"})
+public class CustomerBulkTest {
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private CustomerBulkJobs customerBulkJobs;
+
+    @Test
+    void updatesMatchingCustomersAndTheirCachedCopies() throws Exception {
+        String lastName = "Update" + System.nanoTime();
+        List<CustomerDTO> created = createCustomers(lastName, 30);
+        CustomerDTO other = customerService.createCustomer(new CustomerDTO(null, "Other", "Unrelated",
+                "other." + lastName + "@bulk.example.com", "555 0100"));
+        created.forEach(customerDTO -> customerService.getCustomerById(customerDTO.getId()));
+
+        CustomerBulkJobResponse job = await(customerBulkJobs.start(Operation.UPDATE,
+                request(created, Map.of("lastName", lastName), Map.of("firstName", "Renamed"), false)));
+
+        assertThat(job.getStatus()).isEqualTo(Status.COMPLETED);
+        assertThat(job.getMatched()).isEqualTo(30);
+        assertThat(job.getAffected()).isEqualTo(30);
+        for (CustomerDTO customerDTO : created) {
+            CustomerDTO updated = customerService.getCustomerById(customerDTO.getId());
+            assertThat(updated.getFirstName()).isEqualTo("Renamed");
+            assertThat(updated.getVersion()).isEqualTo(customerDTO.getVersion() + 1);
+        }
+        assertThat(customerService.getCustomerById(other.getId())).isEqualTo(other);
+    }
+
+    @Test
+    void normalizesPhoneNumbersOnlyWhereTheyChange() throws Exception {
+        String lastName = "Phone" + System.nanoTime();
+        List<CustomerDTO> created = createCustomers(lastName, 20);
+        CustomerBulkRequest normalize = request(created, Map.of("lastName", lastName), null, true);
+
+        CustomerBulkJobResponse first = await(customerBulkJobs.start(Operation.UPDATE, normalize));
+        CustomerBulkJobResponse rerun = await(customerBulkJobs.start(Operation.UPDATE, normalize));
+
+        assertThat(first.getAffected()).isEqualTo(10);
+        assertThat(rerun.getAffected()).isZero();
+        assertThat(customerService.getCustomerById(created.get(1).getId()).getPhoneNumber()).isEqualTo("+15550101");
+        assertThat(customerService.getCustomerById(created.get(0).getId()).getVersion()).isEqualTo(created.get(0).getVersion());
+    }
+
+    @Test
+    void deletesMatchingCustomers() throws Exception {
+        String lastName = "Delete" + System.nanoTime();
+        List<CustomerDTO> created = createCustomers(lastName, 25);
+        created.forEach(customerDTO -> customerService.getCustomerById(customerDTO.getId()));
+
+        CustomerBulkJobResponse job = await(customerBulkJobs.start(Operation.DELETE,
+                request(created, Map.of("lastName", lastName), null, false)));
+
+        assertThat(job.getStatus()).isEqualTo(Status.COMPLETED);
+        assertThat(job.getAffected()).isEqualTo(25);
+        for (CustomerDTO customerDTO : created) {
+            assertThatThrownBy(() -> customerService.getCustomerById(customerDTO.getId()))
+                    .isInstanceOf(CustomerStatusException.class);
+        }
+        assertThat(customerService.searchCustomers(lastName, 0, 10).getContent()).isEmpty();
+    }
+
+    // Odd rows carry a formatted phone number, even rows one that is already normal.
+    private List<CustomerDTO> createCustomers(String lastName, int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> customerService.createCustomer(new CustomerDTO(null, "Bulk", lastName,
+                        lastName.toLowerCase() + "." + i + "@bulk.example.com", i % 2 == 1 ? "+1 (555) 010-1" : "5550100")))
+                .toList();
+    }
+
+    private static CustomerBulkRequest request(List<CustomerDTO> created, Map<String, String> where, Map<String, String> set,
+                                               boolean normalizePhoneNumbers) {
+        return new CustomerBulkRequest(created.get(0).getId(), created.get(created.size() - 1).getId(), where, set,
+                normalizePhoneNumbers, null);
+    }
+
+    private CustomerBulkJobResponse await(CustomerBulkJobResponse job) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (job.getStatus() == Status.RUNNING && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+            job = customerBulkJobs.get(job.getJobId());
+        }
+        return job;
+    }
+}
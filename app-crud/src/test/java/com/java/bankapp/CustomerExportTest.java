@@ -0,0 +1,44 @@
+package com.java.bankapp;
+
+import com.bank.app.AppMainApplication;
+import com.bank.app.payload.CustomerDTO;
+import com.bank.app.service.CustomerService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = AppMainApplication.class)
+public class CustomerExportTest {
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Test
+    void exportsCsvWithQuotedFields() throws Exception {
+        customerService.createCustomer(new CustomerDTO(null, "Mary, Jr", "O\"Neil", "mary@export.example.com", "555-0301"));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        customerService.exportCustomers("csv", out);
+
+        String csv = out.toString(StandardCharsets.UTF_8);
+        assertThat(csv).startsWith("id,firstName,lastName,email,phoneNumber\n");
+        assertThat(csv).contains(",\"Mary, Jr\",\"O\"\"Neil\",mary@export.example.com,555-0301\n");
+    }
+
+    @Test
+    void exportsOneJsonObjectPerLine() throws Exception {
+        customerService.createCustomer(new CustomerDTO(null, "Linus", "T", "linus@export.example.com", "555-0302"));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        customerService.exportCustomers("ndjson", out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).allMatch(line -> line.startsWith("{") && line.endsWith("}"));
+        assertThat(lines).anyMatch(line -> line.contains("\"email\":\"linus@export.example.com\""));
+    }
+}
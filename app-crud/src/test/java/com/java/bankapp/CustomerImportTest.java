@@ -0,0 +1,110 @@
+package com.java.bankapp;
+
+import com.bank.app.AppMainApplication;
+import com.bank.app.payload.CustomerDTO;
+import com.bank.app.payload.CustomerImportResponse;
+import com.bank.app.payload.CustomerImportResult;
+import com.bank.app.repository.CustomerRepository;
+import com.bank.app.service.CustomerService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+// The spied repository gives this class a context of its own, so it also gets a database of its own.
+@SpringBootTest(classes = AppMainApplication.class, properties = "spring.datasource.url=jdbc:h2:mem:import-tests")
+public class CustomerImportTest {
+
+    @Autowired
+    private CustomerService customerService;
+
+    @MockitoSpyBean
+    private CustomerRepository customerRepository;
+
+    @Test
+    void importsJsonArrayAndReportsRejectedRows() {
+        String body = """
+                [
+                  {"firstName": "Ada", "lastName": "Lovelace", "email": "ada@import.example.com", "phoneNumber": "555-0201"},
+                  {"firstName": "Ada", "lastName": "Byron", "email": "ADA@import.example.com", "phoneNumber": "555-0202"},
+                  {"firstName": "Alan", "lastName": "Turing", "email": "not-an-email", "phoneNumber": "555-0203"}
+                ]
+                """;
+
+        CustomerImportResponse response = customerService.importCustomers(stream(body));
+
+        assertThat(response.getCreated()).isEqualTo(1);
+        assertThat(response.getResults()).extracting(CustomerImportResult::getStatus).containsExactly(
+                CustomerImportResult.Status.CREATED,
+                CustomerImportResult.Status.DUPLICATE,
+                CustomerImportResult.Status.INVALID);
+        assertThat(response.getResults().get(0).getId()).isNotNull();
+    }
+
+    @Test
+    void importsNdjsonAndSkipsExistingCustomers() {
+        customerService.importCustomers(stream("{\"firstName\": \"Grace\", \"email\": \"grace@import.example.com\"}"));
+
+        String body = """
+                {"firstName": "Grace", "email": "grace@import.example.com"}
+                {"firstName": "Edsger", "email": "edsger@import.example.com"}
+                {"firstName": "Barbara", "email":
+                """;
+
+        CustomerImportResponse response = customerService.importCustomers(stream(body));
+
+        assertThat(response.getCreated()).isEqualTo(1);
+        assertThat(response.getResults()).extracting(CustomerImportResult::getStatus).containsExactly(
+                CustomerImportResult.Status.DUPLICATE,
+                CustomerImportResult.Status.CREATED,
+                CustomerImportResult.Status.INVALID);
+    }
+
+    @Test
+    void settlesRowByRowWhenAnotherWriterInsertsAfterTheLookup() {
+        // Neither email exists at lookup time; the clashing row lands just after it.
+        doAnswer(invocation -> {
+            customerService.createCustomer(new CustomerDTO(null, "Grace", "Hopper", "hopper@import.example.com", null));
+            return Set.of();
+        }).when(customerRepository).findExistingEmails(any());
+
+        String body = """
+                {"firstName": "Grace", "email": "hopper@import.example.com"}
+                {"firstName": "John", "email": "backus@import.example.com"}
+                """;
+
+        CustomerImportResponse response = customerService.importCustomers(stream(body));
+
+        assertThat(response.getCreated()).isEqualTo(1);
+        assertThat(response.getResults()).extracting(CustomerImportResult::getStatus).containsExactly(
+                CustomerImportResult.Status.DUPLICATE,
+                CustomerImportResult.Status.CREATED);
+    }
+
+    @Test
+    void reportsRowsTheTableRejectsAsInvalid() {
+        String body = """
+                {"firstName": "%s", "email": "long@import.example.com"}
+                {"firstName": "Frances", "email": "allen@import.example.com"}
+                """.formatted("F".repeat(300));
+
+        CustomerImportResponse response = customerService.importCustomers(stream(body));
+
+        assertThat(response.getCreated()).isEqualTo(1);
+        assertThat(response.getResults()).extracting(CustomerImportResult::getStatus).containsExactly(
+                CustomerImportResult.Status.INVALID,
+                CustomerImportResult.Status.CREATED);
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,50 @@
+package com.java.bankapp;
+
+import com.bank.app.AppMainApplication;
+import com.bank.app.payload.CustomerDTO;
+import com.bank.app.payload.CustomerFieldsResponse;
+import com.bank.app.payload.CustomerResponse;
+import com.bank.app.service.CustomerService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = AppMainApplication.class)
+public class CustomerProjectionTest {
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Test
+    void listsCustomersThroughDtoProjection() {
+        customerService.createCustomer(new CustomerDTO(null, "Ada", "L", "ada@projection.example.com", "555-0401"));
+
+        CustomerResponse page = customerService.getAllCustomers(0, 500, null);
+        CustomerResponse cursorPage = customerService.getCustomersAfter(null, 500, true);
+
+        assertThat(page.getContent()).anyMatch(c -> "ada@projection.example.com".equals(c.getEmail()));
+        assertThat(cursorPage.getContent()).hasSameSizeAs(page.getContent());
+        assertThat(cursorPage.getTotalElements()).isEqualTo(page.getTotalElements());
+    }
+
+    @Test
+    void selectsOnlyRequestedFields() {
+        customerService.createCustomer(new CustomerDTO(null, "Grace", "H", "grace@projection.example.com", "555-0402"));
+
+        CustomerFieldsResponse response = customerService.getCustomerFields(List.of("email"), null, null, 500);
+
+        assertThat(response.getContent()).isNotEmpty();
+        assertThat(response.getContent()).allMatch(row -> row.keySet().equals(Set.of("id", "email")));
+        assertThat(response.getContent()).extracting(row -> row.get("email")).contains("grace@projection.example.com");
+
+        CustomerFieldsResponse offsetPage = customerService.getCustomerFields(List.of("id", "firstName"), 0, null, 1);
+        Map<String, Object> first = offsetPage.getContent().get(0);
+        assertThat(first).containsOnlyKeys("id", "firstName");
+    }
+}
@@ -0,0 +1,46 @@
+package com.java.bankapp;
+
+import com.bank.app.AppMainApplication;
+import com.bank.app.payload.CustomerDTO;
+import com.bank.app.service.CustomerService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.web.server.ResponseStatusException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(classes = AppMainApplication.class)
+public class CustomerVersioningTest {
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Test
+    void secondWriterWithSameVersionIsRejected() {
+        CustomerDTO created = customerService.createCustomer(new CustomerDTO(null, "Alan", "T", "alan@version.example.com", "555-0501"));
+        Long version = created.getVersion();
+
+        CustomerDTO first = customerService.updateCustomer(
+                new CustomerDTO(null, "Alan", "Turing", "alan@version.example.com", "555-0501"), created.getId(), version);
+
+        assertThat(first.getVersion()).isEqualTo(version + 1);
+        assertThatThrownBy(() -> customerService.updateCustomer(
+                new CustomerDTO(null, "Alan", "Lost", "alan@version.example.com", "555-0501"), created.getId(), version))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("has been modified");
+        assertThat(customerService.getCustomerById(created.getId()).getLastName()).isEqualTo("Turing");
+    }
+
+    @Test
+    void patchWritesOnlyGivenFieldsAndBumpsVersion() {
+        CustomerDTO created = customerService.createCustomer(new CustomerDTO(null, "Barbara", "L", "barbara@version.example.com", "555-0502"));
+
+        CustomerDTO patched = customerService.patchCustomer(new CustomerDTO(null, null, "Liskov", null, null), created.getId(), null);
+
+        assertThat(patched.getFirstName()).isEqualTo("Barbara");
+        assertThat(patched.getLastName()).isEqualTo("Liskov");
+        assertThat(patched.getVersion()).isEqualTo(created.getVersion() + 1);
+    }
+}
@@ -0,0 +1,71 @@
+package com.java.bankapp;
+
+import com.bank.app.AppMainApplication;
+import com.bank.app.payload.CustomerDTO;
+import com.bank.app.service.CustomerService;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = AppMainApplication.class)
+public class DataSourceTuningTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void poolHandsOutConnectionsWithoutAutoCommit() throws Exception {
+        HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+        assertThat(hikari.getPoolName()).isEqualTo("customers");
+        assertThat(hikari.getMaximumPoolSize()).isEqualTo(10);
+        assertThat(hikari.isAutoCommit()).isFalse();
+    }
+
+    @Test
+    void writesAreCommittedWithAutoCommitOff() throws Exception {
+        CustomerDTO created = customerService.createCustomer(
+                new CustomerDTO(null, "Edsger", "Dijkstra", "edsger." + System.nanoTime() + "@pool.example.com", "555-0801"));
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("select count(*) from customers where email = ?")) {
+            statement.setString(1, created.getEmail());
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                assertThat(resultSet.getInt(1)).isEqualTo(1);
+            }
+            connection.rollback();
+        }
+    }
+
+    @Test
+    void exposesPoolAndRepositoryTimings() {
+        customerService.getAllCustomers(0, 5, null);
+
+        assertThat(meterRegistry.get("hikaricp.connections.active").tag("pool", "customers").gauge()).isNotNull();
+        assertThat(meterRegistry.get("hikaricp.connections.idle").tag("pool", "customers").gauge()).isNotNull();
+        assertThat(meterRegistry.get("hikaricp.connections.pending").tag("pool", "customers").gauge()).isNotNull();
+
+        Timer acquire = meterRegistry.get("hikaricp.connections.acquire").tag("pool", "customers").timer();
+        assertThat(acquire.count()).isPositive();
+        assertThat(acquire.takeSnapshot().histogramCounts()).isNotEmpty();
+
+        Timer queries = meterRegistry.get("spring.data.repository.invocations").tag("repository", "CustomerRepository").timer();
+        assertThat(queries.count()).isPositive();
+    }
+}
@@ -0,0 +1,86 @@
+package com.java.bankapp;
+
+import com.bank.app.AppMainApplication;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Problem details and cached pages are written as pre-encoded bytes and must reach the client unchanged.
+// Server tests get their own database so schema creation in other contexts does not reset it under them.
+@SpringBootTest(classes = AppMainApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"app.admission.enabled=false", "spring.datasource.url=jdbc:h2:mem:web-tests"})
+public class EncodedResponseTest {
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void problemDetailsAreWrittenAsJson() throws Exception {
+        HttpResponse<String> response = get("/api/public/customers/999999999");
+
+        assertThat(response.statusCode()).isEqualTo(404);
+        assertThat(response.headers().firstValue("Content-Type")).hasValue("application/problem+json");
+        assertThat(response.body()).startsWith("{\"type\":\"about:blank\"").contains("\"status\":404");
+    }
+
+    @Test
+    void cachedPagesAreWrittenAsJson() throws Exception {
+        HttpRequest create = HttpRequest.newBuilder(uri("/api/admin/customers"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"firstName\":\"Grace\",\"email\":\"grace." + System.nanoTime() + "@encoded.example.com\"}"))
+                .build();
+        assertThat(httpClient.send(create, HttpResponse.BodyHandlers.discarding()).statusCode()).isEqualTo(200);
+
+        HttpResponse<String> response = get("/api/public/customers?pageNumber=0&pageSize=5");
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("ETag")).isPresent();
+        assertThat(response.body()).startsWith("{\"content\":");
+    }
+
+    @Test
+    void gzipPagesCarryTheirOwnETag() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            HttpRequest create = HttpRequest.newBuilder(uri("/api/admin/customers"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"firstName\":\"Ada\",\"email\":\"ada." + System.nanoTime() + "@encoded.example.com\"}"))
+                    .build();
+            assertThat(httpClient.send(create, HttpResponse.BodyHandlers.discarding()).statusCode()).isEqualTo(200);
+        }
+        String path = "/api/public/customers?pageNumber=0&pageSize=20";
+
+        HttpResponse<Void> gzip = get(path, "Accept-Encoding", "gzip");
+        HttpResponse<Void> identity = get(path, "Accept-Encoding", "identity");
+        String gzipETag = gzip.headers().firstValue("ETag").orElseThrow();
+        String identityETag = identity.headers().firstValue("ETag").orElseThrow();
+
+        assertThat(gzip.headers().firstValue("Content-Encoding")).hasValue("gzip");
+        assertThat(identity.headers().firstValue("Content-Encoding")).isEmpty();
+        assertThat(gzipETag).isEqualTo(identityETag.substring(0, identityETag.length() - 1) + "-gzip\"");
+        assertThat(get(path, "Accept-Encoding", "gzip", "If-None-Match", gzipETag).statusCode()).isEqualTo(304);
+        assertThat(get(path, "Accept-Encoding", "identity", "If-None-Match", gzipETag).statusCode()).isEqualTo(200);
+        assertThat(get(path, "Accept-Encoding", "gzip", "If-None-Match", identityETag).statusCode()).isEqualTo(200);
+    }
+
+    private HttpResponse<Void> get(String path, String... headers) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri(path)).headers(headers).GET().build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        return httpClient.send(HttpRequest.newBuilder(uri(path)).GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
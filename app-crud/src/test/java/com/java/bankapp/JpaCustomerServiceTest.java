@@ -0,0 +1,77 @@
+package com.java.bankapp;
+
+import com.bank.app.AppMainApplication;
+import com.bank.app.cache.CustomerCache;
+import com.bank.app.cache.CustomerPageCache;
+import com.bank.app.payload.CustomerBulkChunk;
+import com.bank.app.payload.CustomerBulkRequest;
+import com.bank.app.payload.CustomerDTO;
+import com.bank.app.repository.CustomerRepository;
+import com.bank.app.repository.CustomerRepositoryImpl;
+import com.bank.app.service.CustomerService;
+import com.bank.app.service.CustomerServiceContractTest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.doAnswer;
+
+// Runs the shared service contract against the JPA backend, on a database of its own so it can start empty.
+@SpringBootTest(classes = AppMainApplication.class, properties = "spring.datasource.url=jdbc:h2:mem:contract-tests")
+public class JpaCustomerServiceTest extends CustomerServiceContractTest {
+
+    @Autowired
+    private CustomerService jpaCustomerService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private CustomerCache customerCache;
+
+    @Autowired
+    private CustomerPageCache customerPageCache;
+
+    @MockitoSpyBean
+    private CustomerRepositoryImpl customerRepositoryImpl;
+
+    @Override
+    protected CustomerService emptyCustomerService() {
+        customerRepository.deleteAllInBatch();
+        customerCache.clear();
+        customerPageCache.invalidate();
+        return jpaCustomerService;
+    }
+
+    @Test
+    @DisplayName("Should keep other writers off the rows of a bulk chunk until it commits")
+    void testUpdateCustomersInRange_LocksMatchedRows() {
+        List<Long> ids = createCustomers(3);
+        CustomerBulkRequest request = new CustomerBulkRequest(null, null, Map.of("lastName", "Doe"), null, true, null);
+        CustomerDTO patch = new CustomerDTO(null, null, null, null, "5550199");
+        doAnswer(invocation -> {
+            // A write to a matched row between the chunk's select and its update.
+            assertThatThrownBy(() -> CompletableFuture.runAsync(() -> customerService.patchCustomer(patch, ids.get(0), null))
+                    .get(10, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class);
+            return invocation.callRealMethod();
+        }).when(customerRepositoryImpl).updateMatching(any(), any(), any(), anyBoolean());
+
+        CustomerBulkChunk chunk = customerService.updateCustomersInRange(request, ids.get(0) - 1, ids.get(2), 10);
+
+        assertThat(chunk.getAffected()).isEqualTo(2);
+        assertThat(customerService.getCustomerById(ids.get(0)).getPhoneNumber()).isEqualTo("5550101");
+        assertThat(customerService.getCustomerById(ids.get(0)).getVersion()).isEqualTo(1L);
+    }
+}
@@ -0,0 +1,76 @@
+package com.java.bankapp;
+
+import com.bank.app.AppMainApplication;
+import com.bank.app.payload.CustomerDTO;
+import com.bank.app.service.CustomerService;
+import com.bank.app.service.CustomerServiceImp;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = AppMainApplication.class, properties = "app.storage.type=mapped")
+public class MappedStorageTest {
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    // One directory per run, so reruns and parallel builds never share a log.
+    private static final Path DIRECTORY = Path.of("target/mapped-storage-test", UUID.randomUUID().toString());
+    private static final Path AUDIT_PATH = DIRECTORY.resolve("customer-audit.ndjson");
+
+    @DynamicPropertySource
+    static void storagePaths(DynamicPropertyRegistry registry) {
+        registry.add("app.storage.path", () -> DIRECTORY.resolve("customers.log").toString());
+        registry.add("app.audit.path", AUDIT_PATH::toString);
+    }
+
+    @Test
+    void servesCustomersFromTheMappedStore() throws Exception {
+        CustomerDTO created = customerService.createCustomer(
+                new CustomerDTO(null, "Ken", "Thompson", "ken." + System.nanoTime() + "@mapped.example.com", "555-0701"));
+
+        assertThat(customerService.getCustomerById(created.getId())).isEqualTo(created);
+        assertThat(customerService.searchCustomers("thompson", 0, 10).getContent()).contains(created);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        customerService.exportCustomers("csv", out);
+        assertThat(out.toString(StandardCharsets.UTF_8)).contains(created.getEmail());
+    }
+
+    @Test
+    void runsWithoutADatabase() {
+        assertThat(applicationContext.getBeanNamesForType(DataSource.class)).isEmpty();
+        assertThat(applicationContext.getBeanNamesForType(EntityManagerFactory.class)).isEmpty();
+        assertThat(applicationContext.getBeanNamesForType(CustomerServiceImp.class)).isEmpty();
+    }
+
+    @Test
+    void writesTheAuditTrailToAFile() throws Exception {
+        CustomerDTO created = customerService.createCustomer(
+                new CustomerDTO(null, "Dennis", "Ritchie", "dennis." + System.nanoTime() + "@mapped.example.com", "555-0702"));
+
+        String trail = "";
+        for (int i = 0; i < 50 && !trail.contains(created.getEmail()); i++) {
+            Thread.sleep(100);
+            trail = Files.exists(AUDIT_PATH) ? Files.readString(AUDIT_PATH) : "";
+        }
+
+        assertThat(trail).contains("\"action\":\"CREATE\"", created.getEmail());
+    }
+}
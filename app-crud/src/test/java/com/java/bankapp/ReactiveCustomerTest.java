@@ -0,0 +1,112 @@
+package com.java.bankapp;
+
+import com.bank.app.AppMainApplication;
+import com.bank.app.exceptions.ResourceNotFoundException;
+import com.bank.app.payload.CustomerDTO;
+import com.bank.app.service.CustomerService;
+import com.bank.app.service.ReactiveCustomerService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(classes = AppMainApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"app.admission.enabled=false", "spring.datasource.url=jdbc:h2:mem:web-tests"})
+public class ReactiveCustomerTest {
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private ReactiveCustomerService reactiveCustomerService;
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void readsWhatTheBlockingServiceWrote() {
+        List<CustomerDTO> created = createCustomers(3);
+
+        assertThat(reactiveCustomerService.getCustomerById(created.get(1).getId()).block()).isEqualTo(created.get(1));
+        assertThat(reactiveCustomerService.getCustomersAfter(cursorBefore(created.get(0)), 3).collectList().block())
+                .containsExactlyElementsOf(created);
+        assertThat(reactiveCustomerService.exportCustomers().collectList().block()).containsAll(created);
+        assertThatThrownBy(() -> reactiveCustomerService.getCustomerById(Long.MAX_VALUE).block())
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void streamsListsAsNdjson() throws Exception {
+        List<CustomerDTO> created = createCustomers(2);
+
+        HttpResponse<String> response = get("/api/public/reactive/customers?pageSize=2&after=" + cursorBefore(created.get(0)));
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("Content-Type")).hasValue("application/x-ndjson");
+        assertThat(response.body().lines()).hasSize(2)
+                .allSatisfy(line -> assertThat(line).startsWith("{").endsWith("}"))
+                .anySatisfy(line -> assertThat(line).contains(created.get(1).getEmail()));
+    }
+
+    @Test
+    void walksPagesByTheReturnedCursor() throws Exception {
+        List<CustomerDTO> created = createCustomers(3);
+        String path = "/api/public/reactive/customers?pageSize=2&after=" + cursorBefore(created.get(0));
+
+        HttpResponse<String> first = get(path);
+        assertThat(first.headers().firstValue("Next-Cursor")).isPresent();
+        HttpResponse<String> second = get("/api/public/reactive/customers?pageSize=2&after="
+                + first.headers().firstValue("Next-Cursor").orElseThrow());
+
+        assertThat(first.body().lines()).hasSize(2);
+        assertThat(second.body().lines().findFirst()).hasValueSatisfying(
+                line -> assertThat(line).contains(created.get(2).getEmail()));
+    }
+
+    @Test
+    void rejectsRawIdsAsCursors() throws Exception {
+        HttpResponse<String> response = get("/api/public/reactive/customers?pageSize=2&after=42");
+
+        assertThat(response.statusCode()).isEqualTo(400);
+        assertThat(response.body()).contains("Invalid cursor");
+    }
+
+    @Test
+    void answersMissingCustomersWithProblemDetails() throws Exception {
+        HttpResponse<String> response = get("/api/public/reactive/customers/" + Long.MAX_VALUE);
+
+        assertThat(response.statusCode()).isEqualTo(404);
+        assertThat(response.headers().firstValue("Content-Type")).hasValue("application/problem+json");
+    }
+
+    private List<CustomerDTO> createCustomers(int count) {
+        long suffix = System.nanoTime();
+        return IntStream.range(0, count)
+                .mapToObj(i -> customerService.createCustomer(
+                        new CustomerDTO(null, "Barbara", "Liskov", "barbara." + suffix + "." + i + "@reactive.example.com", "555-0901")))
+                .toList();
+    }
+
+    // Same format as the cursors the list hands out: base64url of "id:<last seen id>".
+    private static String cursorBefore(CustomerDTO customer) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("id:" + (customer.getId() - 1)).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET().build();
+        return HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}